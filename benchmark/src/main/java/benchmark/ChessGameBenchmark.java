@@ -0,0 +1,187 @@
+package benchmark;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import chess.GameCodec;
+import chess.InvalidMoveException;
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-operation costs of the chess core over the midgame corpus in
+ * {@link Positions#MIDGAME_LINES}. Every benchmark visits each corpus
+ * position once per invocation, so scores are "microseconds per corpus pass".
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChessGameBenchmark {
+    private ChessGame[] games;
+    private ChessPosition[][] ownSquares;
+    private ChessMove[] replies;
+    private String[] json;
+    private String[] fen;
+    private byte[][] encoded;
+    private ChessBoard board;
+
+    @Setup
+    public void setup() {
+        games = Positions.midgameCorpus();
+        ownSquares = new ChessPosition[games.length][];
+        replies = new ChessMove[games.length];
+        json = new String[games.length];
+        fen = new String[games.length];
+        encoded = new byte[games.length][];
+        for (int i = 0; i < games.length; i++) {
+            ChessGame game = games[i];
+            List<ChessPosition> squares = new ArrayList<>();
+            List<ChessMove> moves = new ArrayList<>();
+            for (int row = 1; row <= 8; row++) {
+                for (int col = 1; col <= 8; col++) {
+                    ChessPosition pos = new ChessPosition(row, col);
+                    var piece = game.getBoard().getPiece(pos);
+                    if (piece != null && piece.getTeamColor() == game.getTeamTurn()) {
+                        squares.add(pos);
+                        moves.addAll(game.validMoves(pos));
+                    }
+                }
+            }
+            ownSquares[i] = squares.toArray(new ChessPosition[0]);
+            replies[i] = moves.stream().min(Comparator.comparing(ChessMove::toString)).orElseThrow();
+            json[i] = new Gson().toJson(game);
+            fen[i] = game.toFen();
+            encoded[i] = GameCodec.encode(game);
+        }
+        board = new ChessBoard();
+    }
+
+    @Benchmark
+    public void validMoves(Blackhole bh) {
+        for (int i = 0; i < games.length; i++) {
+            for (ChessPosition pos : ownSquares[i]) {
+                bh.consume(games[i].validMoves(pos));
+            }
+        }
+    }
+
+    /**
+     * Copies each game before moving so the corpus stays unchanged; compare
+     * against {@link #copyGame} to separate out the copy cost.
+     */
+    @Benchmark
+    public void makeMove(Blackhole bh) throws InvalidMoveException {
+        for (int i = 0; i < games.length; i++) {
+            ChessGame copy = new ChessGame(games[i]);
+            copy.makeMove(replies[i]);
+            bh.consume(copy);
+        }
+    }
+
+    @Benchmark
+    public void copyGame(Blackhole bh) {
+        for (ChessGame game : games) {
+            bh.consume(new ChessGame(game));
+        }
+    }
+
+    @Benchmark
+    public void makeUnmakeMove(Blackhole bh) {
+        for (int i = 0; i < games.length; i++) {
+            games[i].makeMoveUnchecked(replies[i]);
+            bh.consume(games[i].getBoard().getOccupied());
+            games[i].unmakeMove();
+        }
+    }
+
+    @Benchmark
+    public void isInCheck(Blackhole bh) {
+        for (ChessGame game : games) {
+            bh.consume(game.isInCheck(game.getTeamTurn()));
+        }
+    }
+
+    @Benchmark
+    public void getStatus(Blackhole bh) {
+        for (ChessGame game : games) {
+            bh.consume(game.getStatus(game.getTeamTurn()));
+        }
+    }
+
+    @Benchmark
+    public void isInCheckmate(Blackhole bh) {
+        for (ChessGame game : games) {
+            bh.consume(game.isInCheckmate(game.getTeamTurn()));
+        }
+    }
+
+    @Benchmark
+    public void isInStalemate(Blackhole bh) {
+        for (ChessGame game : games) {
+            bh.consume(game.isInStalemate(game.getTeamTurn()));
+        }
+    }
+
+    @Benchmark
+    public ChessBoard resetBoard() {
+        board.resetBoard();
+        return board;
+    }
+
+    /**
+     * Serialises and parses each game the way MySQLGameDAO does, including
+     * its per-call {@code new Gson()}.
+     */
+    @Benchmark
+    public void gsonRoundTrip(Blackhole bh) {
+        for (ChessGame game : games) {
+            String text = new Gson().toJson(game);
+            bh.consume(new Gson().fromJson(text, ChessGame.class));
+        }
+    }
+
+    @Benchmark
+    public void gsonParse(Blackhole bh) {
+        for (String text : json) {
+            bh.consume(new Gson().fromJson(text, ChessGame.class));
+        }
+    }
+
+    @Benchmark
+    public void fenRoundTrip(Blackhole bh) {
+        for (ChessGame game : games) {
+            bh.consume(ChessGame.fromFen(game.toFen()));
+        }
+    }
+
+    @Benchmark
+    public void fenParse(Blackhole bh) {
+        for (String text : fen) {
+            bh.consume(ChessGame.fromFen(text));
+        }
+    }
+
+    @Benchmark
+    public void codecRoundTrip(Blackhole bh) {
+        for (ChessGame game : games) {
+            bh.consume(GameCodec.decode(GameCodec.encode(game)));
+        }
+    }
+
+    @Benchmark
+    public void codecDecode(Blackhole bh) {
+        for (byte[] data : encoded) {
+            bh.consume(GameCodec.decode(data));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package benchmark;
+
+import chess.ChessGame;
+import engine.ParallelSearch;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lazy SMP scaling as time to reach a fixed depth on the midgame corpus.
+ * Each invocation starts from a cleared table. Running this class's
+ * {@link #main} instead of the JMH launcher prints the speedup of each
+ * thread count over the 1-thread time once the runs finish. Run on a host
+ * with at least as many cores as the largest thread count, e.g.
+ * <pre>
+ *   java -cp benchmarks.jar benchmark.ParallelSearchBenchmark -p threads=1,2,4,8,16
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ParallelSearchBenchmark {
+    private static final long NO_LIMIT = 1_000_000L;
+    private static final int DEPTH = 6;
+    private static final int TABLE_MB = 64;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+
+    private ParallelSearch search;
+    private ChessGame[] corpus;
+
+    @Setup
+    public void setup() {
+        search = new ParallelSearch(threads, TABLE_MB);
+        corpus = Positions.midgameCorpus();
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        search.getTable().clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        search.close();
+    }
+
+    @Benchmark
+    public int timeToDepth() {
+        int total = 0;
+        for (ChessGame game : corpus) {
+            total += search.search(game, NO_LIMIT, DEPTH).score();
+        }
+        return total;
+    }
+
+    /**
+     * Runs the benchmark with any JMH command line options and then prints
+     * the speedup table.
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(ParallelSearchBenchmark.class.getSimpleName())
+                .build();
+        printSpeedups(new Runner(options).run());
+    }
+
+    /**
+     * Compares every thread count with the smallest one run, normally 1.
+     * Efficiency is the speedup per added thread: 100% is perfect scaling.
+     */
+    private static void printSpeedups(Collection<RunResult> results) {
+        SortedMap<Integer, Double> millis = new TreeMap<>();
+        for (RunResult result : results) {
+            millis.put(Integer.parseInt(result.getParams().getParam("threads")), result.getPrimaryResult().getScore());
+        }
+        if (millis.isEmpty()) {
+            return;
+        }
+        int baseThreads = millis.firstKey();
+        double baseMillis = millis.get(baseThreads);
+        System.out.printf("%nSpeedup to depth %d over %d thread(s)%n", DEPTH, baseThreads);
+        System.out.printf("%8s %12s %8s %11s%n", "threads", "ms/op", "speedup", "efficiency");
+        millis.forEach((threads, time) -> {
+            double speedup = baseMillis / time;
+            System.out.printf("%8d %12.1f %7.2fx %10.0f%%%n",
+                    threads, time, speedup, 100 * speedup * baseThreads / threads);
+        });
+    }
+}
@@ -0,0 +1,139 @@
+package benchmark;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.InvalidMoveException;
+
+import java.util.Map;
+
+/**
+ * Fixed positions shared by the benchmarks, written in the same board-text
+ * layout the passoff tests use (row 8 first, lowercase for black).
+ */
+public final class Positions {
+    public static final String KIWIPETE = """
+            |r| | | |k| | |r|
+            |p| |p|p|q|p|b| |
+            |b|n| | |p|n|p| |
+            | | | |P|N| | | |
+            | |p| | |P| | | |
+            | | |N| | |Q| |p|
+            |P|P|P|B|B|P|P|P|
+            |R| | | |K| | |R|
+            """;
+
+    /**
+     * Midgame corpus: mainline openings played out to move 10-12, in
+     * coordinate notation from the initial position.
+     */
+    public static final String[] MIDGAME_LINES = {
+            // Ruy Lopez, closed
+            "e2e4 e7e5 g1f3 b8c6 f1b5 a7a6 b5a4 g8f6 e1g1 f8e7 f1e1 b7b5 a4b3 d7d6 c2c3 e8g8 h2h3 c6a5 "
+                    + "b3c2 c7c5 d2d4 d8c7",
+            // Sicilian Najdorf, English attack
+            "e2e4 c7c5 g1f3 d7d6 d2d4 c5d4 f3d4 g8f6 b1c3 a7a6 c1e3 e7e5 d4b3 c8e6 f2f3 f8e7 d1d2 e8g8 "
+                    + "e1c1 b8d7 g2g4 b7b5",
+            // Queen's Gambit Declined
+            "d2d4 d7d5 c2c4 e7e6 b1c3 g8f6 c1g5 f8e7 e2e3 e8g8 g1f3 b8d7 a1c1 c7c6 f1d3 d5c4 d3c4 f6d5 "
+                    + "g5e7 d8e7 e1g1 d5c3 c1c3 e6e5",
+            // King's Indian, classical
+            "d2d4 g8f6 c2c4 g7g6 b1c3 f8g7 e2e4 d7d6 g1f3 e8g8 f1e2 e7e5 e1g1 b8c6 d4d5 c6e7 f3e1 f6d7 "
+                    + "e1d3 f7f5",
+            // Italian, slow
+            "e2e4 e7e5 g1f3 b8c6 f1c4 f8c5 c2c3 g8f6 d2d3 d7d6 e1g1 e8g8 f1e1 a7a6 c4b3 c5a7 h2h3 h7h6 "
+                    + "b1d2 f8e8",
+            // French Winawer, poisoned pawn
+            "e2e4 e7e6 d2d4 d7d5 b1c3 f8b4 e4e5 c7c5 a2a3 b4c3 b2c3 g8e7 d1g4 d8c7 g4g7 h8g8 g7h7 c5d4 "
+                    + "g1e2 b8c6 f2f4 c8d7",
+            // Caro-Kann, classical
+            "e2e4 c7c6 d2d4 d7d5 b1c3 d5e4 c3e4 c8f5 e4g3 f5g6 h2h4 h7h6 g1f3 b8d7 h4h5 g6h7 f1d3 h7d3 "
+                    + "d1d3 e7e6 c1d2 g8f6 e1c1 f8e7",
+            // English, reversed Sicilian
+            "c2c4 e7e5 b1c3 g8f6 g1f3 b8c6 g2g3 d7d5 c4d5 f6d5 f1g2 d5b6 e1g1 f8e7 d2d3 e8g8 a2a3 c8e6 "
+                    + "b2b4 f7f6",
+    };
+
+    private static final Map<Character, ChessPiece.PieceType> TYPES = Map.of(
+            'p', ChessPiece.PieceType.PAWN,
+            'n', ChessPiece.PieceType.KNIGHT,
+            'r', ChessPiece.PieceType.ROOK,
+            'q', ChessPiece.PieceType.QUEEN,
+            'k', ChessPiece.PieceType.KING,
+            'b', ChessPiece.PieceType.BISHOP);
+
+    private Positions() {}
+
+    public static ChessGame game(String boardText, ChessGame.TeamColor turn) {
+        ChessGame game = new ChessGame();
+        game.setBoard(board(boardText));
+        game.setTeamTurn(turn);
+        return game;
+    }
+
+    /**
+     * Plays a line of coordinate-notation moves (e.g. "e2e4 e7e5") from the
+     * initial position through the normal, validating makeMove.
+     */
+    public static ChessGame play(String line) {
+        ChessGame game = new ChessGame();
+        for (String move : line.trim().split("\\s+")) {
+            try {
+                game.makeMove(parseMove(move));
+            } catch (InvalidMoveException e) {
+                throw new IllegalArgumentException("Illegal move " + move + " in line: " + line, e);
+            }
+        }
+        return game;
+    }
+
+    public static ChessGame[] midgameCorpus() {
+        ChessGame[] games = new ChessGame[MIDGAME_LINES.length];
+        for (int i = 0; i < games.length; i++) {
+            games[i] = play(MIDGAME_LINES[i]);
+        }
+        return games;
+    }
+
+    public static ChessMove parseMove(String text) {
+        ChessPosition from = new ChessPosition(text.charAt(1) - '0', text.charAt(0) - 'a' + 1);
+        ChessPosition to = new ChessPosition(text.charAt(3) - '0', text.charAt(2) - 'a' + 1);
+        ChessPiece.PieceType promotion = null;
+        if (text.length() > 4) {
+            promotion = switch (text.charAt(4)) {
+                case 'q' -> ChessPiece.PieceType.QUEEN;
+                case 'r' -> ChessPiece.PieceType.ROOK;
+                case 'b' -> ChessPiece.PieceType.BISHOP;
+                default -> ChessPiece.PieceType.KNIGHT;
+            };
+        }
+        return new ChessMove(from, to, promotion);
+    }
+
+    public static ChessBoard board(String boardText) {
+        ChessBoard board = new ChessBoard();
+        int row = 8;
+        int column = 1;
+        for (char c : boardText.toCharArray()) {
+            switch (c) {
+                case '\n' -> {
+                    column = 1;
+                    row--;
+                }
+                case ' ' -> column++;
+                case '|' -> {
+                }
+                default -> {
+                    ChessGame.TeamColor color = Character.isLowerCase(c)
+                            ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+                    board.addPiece(new ChessPosition(row, column),
+                            new ChessPiece(color, TYPES.get(Character.toLowerCase(c))));
+                    column++;
+                }
+            }
+        }
+        return board;
+    }
+}
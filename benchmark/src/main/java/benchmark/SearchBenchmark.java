@@ -0,0 +1,60 @@
+package benchmark;
+
+import chess.ChessGame;
+import engine.Search;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded search speed. Each invocation runs a fixed-depth search
+ * with an effectively unlimited time budget; the {@code nodes} secondary
+ * result is the nodes-per-second figure.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+    private static final long NO_LIMIT = 1_000_000L;
+
+    private ChessGame kiwipete;
+    private ChessGame[] corpus;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Nodes {
+        public long nodes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        kiwipete = Positions.game(Positions.KIWIPETE, ChessGame.TeamColor.WHITE);
+        corpus = Positions.midgameCorpus();
+    }
+
+    @Benchmark
+    public int kiwipeteDepth5(Nodes counter) {
+        var result = new Search(kiwipete).search(NO_LIMIT, 5);
+        counter.nodes += result.nodes();
+        return result.score();
+    }
+
+    @Benchmark
+    public int midgameDepth4(Nodes counter) {
+        int total = 0;
+        for (ChessGame game : corpus) {
+            var result = new Search(game).search(NO_LIMIT, 4);
+            counter.nodes += result.nodes();
+            total += result.score();
+        }
+        return total;
+    }
+}
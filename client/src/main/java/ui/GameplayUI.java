@@ -106,6 +106,13 @@ public class GameplayUI implements ClientNotificationHandler {
             case "redraw" -> drawBoard();
             case "test" -> testBoard();
             case "status" -> displayGameInfo();
+            case "book" -> {
+                try {
+                    webSocketFacade.requestBookMove(authToken, gameID);
+                } catch (Exception e) {
+                    System.err.println("❌ Failed to request book moves: " + e.getMessage());
+                }
+            }
             case "highlight" -> {
                 if (tokens.length < 2) {
                     System.out.println("Usage: highlight <position>");
@@ -118,6 +125,13 @@ public class GameplayUI implements ClientNotificationHandler {
                 }
                 displayLegalMoves(pos);
             }
+            case "mate" -> {
+                try {
+                    webSocketFacade.requestMate(authToken, gameID);
+                } catch (Exception e) {
+                    System.err.println("❌ Failed to request a mate search: " + e.getMessage());
+                }
+            }
             case "resign" -> {
                 if (!"observer".equals(playerColor)) {
                     System.out.print("Are you sure you want to resign? (yes/no): ");
@@ -197,6 +211,8 @@ public class GameplayUI implements ClientNotificationHandler {
         System.out.println("  resign                   - Resign from the game");
         System.out.println("  leave                    - Leave the game");
         System.out.println("  status                   - Show current game information");
+        System.out.println("  book                     - Show opening book moves for this position");
+        System.out.println("  mate                     - Look for a forced mate in this position");
         System.out.println("=".repeat(50) + SET_TEXT_COLOR_BLACK);
     }
 
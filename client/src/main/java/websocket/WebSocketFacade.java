@@ -112,6 +112,14 @@ public class WebSocketFacade {
         sendCommand(new UserGameCommand(UserGameCommand.CommandType.HELP, authToken, gameID));
     }
 
+    public void requestBookMove(String authToken, int gameID) throws IOException {
+        sendCommand(new UserGameCommand(UserGameCommand.CommandType.BOOK_MOVE, authToken, gameID));
+    }
+
+    public void requestMate(String authToken, int gameID) throws IOException {
+        sendCommand(new UserGameCommand(UserGameCommand.CommandType.FIND_MATE, authToken, gameID));
+    }
+
     private void sendCommand(UserGameCommand command) throws IOException {
         if (session != null && session.isOpen()) {
             String json = GSON.toJson(command);
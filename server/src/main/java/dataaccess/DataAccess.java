@@ -1,8 +1,15 @@
 package dataaccess;
 
+import chess.ChessGame;
+import chess.GameCodec;
 import exception.ResponseException;
 
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 
 public class DataAccess {
     private static final String[] CREATE_STATEMENTS = {
@@ -28,7 +35,7 @@ public class DataAccess {
             `WHITENAME` varchar(255),
             `BLACKNAME` varchar(255),
             `GAMENAME` varchar(255) NOT NULL,
-            `JSON` TEXT NOT NULL
+            `STATE` BLOB NOT NULL
         )
         """
     };
@@ -42,6 +49,7 @@ public class DataAccess {
                         preparedStatement.executeUpdate();
                     }
                 }
+                migrateJsonGames(conn);
             } catch (SQLException ex) {
                 throw new ResponseException(500, String.format("Unable to configure database: %s", ex.getMessage()));
             }
@@ -49,4 +57,93 @@ public class DataAccess {
             throw new ResponseException(500, String.format("Unable to configure database: %s", ex.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Earlier versions stored each game as Gson JSON in a {@code JSON} column.
+     * Re-encodes every such row with {@link GameCodec} into {@code STATE} in
+     * one transaction, reads the rows back to check them, and only then drops
+     * the old column, so this does its work once per database. A row that
+     * cannot be converted rolls the whole migration back and leaves the JSON
+     * in place.
+     */
+    private static void migrateJsonGames(Connection conn) throws SQLException {
+        if (!hasGameColumn(conn, "JSON")) {
+            return;
+        }
+        if (!hasGameColumn(conn, "STATE")) {
+            try (var preparedStatement = conn.prepareStatement("ALTER TABLE GAME ADD COLUMN `STATE` BLOB")) {
+                preparedStatement.executeUpdate();
+            }
+        }
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            Map<Integer, byte[]> encoded = new HashMap<>();
+            try (var select = conn.prepareStatement("SELECT ID, JSON FROM GAME");
+                 var update = conn.prepareStatement("UPDATE GAME SET STATE=? WHERE ID=?");
+                 var rs = select.executeQuery()) {
+                while (rs.next()) {
+                    int id = rs.getInt("ID");
+                    byte[] data;
+                    try {
+                        data = migrateGame(rs.getString("JSON"));
+                    } catch (IllegalArgumentException e) {
+                        throw new SQLException(String.format("Unable to migrate game %d: %s", id, e.getMessage()), e);
+                    }
+                    encoded.put(id, data);
+                    update.setBytes(1, data);
+                    update.setInt(2, id);
+                    update.addBatch();
+                }
+                update.executeBatch();
+            }
+
+            try (var select = conn.prepareStatement("SELECT ID, STATE FROM GAME");
+                 var rs = select.executeQuery()) {
+                while (rs.next()) {
+                    int id = rs.getInt("ID");
+                    if (!Arrays.equals(encoded.get(id), rs.getBytes("STATE"))) {
+                        throw new SQLException(String.format("Unable to migrate game %d: stored state does not match", id));
+                    }
+                }
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+
+        try (var preparedStatement = conn.prepareStatement(
+                "ALTER TABLE GAME DROP COLUMN `JSON`, MODIFY `STATE` BLOB NOT NULL")) {
+            preparedStatement.executeUpdate();
+        }
+    }
+
+    /**
+     * Converts one legacy JSON game to the {@link GameCodec} encoding and
+     * checks that the encoding decodes back to the same game.
+     *
+     * @throws IllegalArgumentException if the JSON is not a readable game
+     */
+    static byte[] migrateGame(String json) {
+        ChessGame game = LegacyGameJson.parse(json);
+        byte[] data = GameCodec.encode(game);
+        ChessGame decoded = GameCodec.decode(data);
+        if (!decoded.toFen().equals(game.toFen())
+                || !Objects.equals(decoded.getLastMove(), game.getLastMove())
+                || decoded.isGameOver() != game.isGameOver()
+                || decoded.getWinner() != game.getWinner()) {
+            throw new IllegalArgumentException("Encoded game does not decode to the original");
+        }
+        return data;
+    }
+
+    private static boolean hasGameColumn(Connection conn, String column) throws SQLException {
+        try (var columns = conn.getMetaData().getColumns(conn.getCatalog(), null, "GAME", column)) {
+            return columns.next();
+        }
+    }
+}
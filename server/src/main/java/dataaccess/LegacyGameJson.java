@@ -0,0 +1,130 @@
+package dataaccess;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.util.Set;
+
+/**
+ * The JSON that games were stored as before {@link chess.GameCodec}: Gson's
+ * view of the original ChessGame, with the board as rows of pieces and a
+ * hasMoved set in place of castling rights. Read only by the migration in
+ * {@link DataAccess}.
+ */
+final class LegacyGameJson {
+    private ChessGame.TeamColor turn;
+    private Board board;
+    private ChessMove lastMove;
+    private Set<ChessPosition> hasMoved;
+    private boolean gameOver;
+    private ChessGame.TeamColor winner;
+
+    private static final class Board {
+        private Piece[][] board;
+    }
+
+    private static final class Piece {
+        private ChessGame.TeamColor color;
+        private ChessPiece.PieceType type;
+    }
+
+    private LegacyGameJson() {}
+
+    /**
+     * @throws IllegalArgumentException if the text is not a legacy game with one king per side
+     */
+    static ChessGame parse(String json) {
+        LegacyGameJson legacy;
+        try {
+            legacy = new Gson().fromJson(json, LegacyGameJson.class);
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException("Unreadable game JSON: " + e.getMessage(), e);
+        }
+        if (legacy == null || legacy.board == null || legacy.board.board == null) {
+            throw new IllegalArgumentException("Game JSON has no board");
+        }
+        return legacy.toGame();
+    }
+
+    private ChessGame toGame() {
+        ChessBoard pieces = new ChessBoard();
+        Piece[][] rows = board.board;
+        if (rows.length > 8) {
+            throw new IllegalArgumentException("Game JSON has more than eight rows");
+        }
+        for (int row = 0; row < rows.length; row++) {
+            if (rows[row] == null || rows[row].length > 8) {
+                throw new IllegalArgumentException("Game JSON has a bad row " + (row + 1));
+            }
+            for (int col = 0; col < rows[row].length; col++) {
+                Piece piece = rows[row][col];
+                if (piece == null) {
+                    continue;
+                }
+                if (piece.color == null || piece.type == null) {
+                    throw new IllegalArgumentException("Game JSON has an unknown piece at row " + (row + 1));
+                }
+                pieces.addPiece(ChessPosition.of(row + 1, col + 1), ChessPiece.of(piece.color, piece.type));
+            }
+        }
+        if (Long.bitCount(pieces.getPieces(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING)) != 1
+                || Long.bitCount(pieces.getPieces(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING)) != 1) {
+            throw new IllegalArgumentException("Game JSON needs exactly one king per side");
+        }
+
+        ChessGame game = new ChessGame();
+        game.setBoard(pieces);
+        game.setTeamTurn(turn == null ? ChessGame.TeamColor.WHITE : turn);
+        game.setCastlingRights(game.getCastlingRights() & ~lostRights());
+        game.setEnPassantSquare(enPassantSquare(pieces, game.getTeamTurn()));
+        game.setLastMove(lastMove);
+        game.setGameOver(gameOver);
+        game.setWinner(winner);
+        return game;
+    }
+
+    // A king or rook that left its home square gives up the castling tied to it
+    private int lostRights() {
+        int lost = 0;
+        if (hasMoved == null) {
+            return lost;
+        }
+        for (ChessPosition pos : hasMoved) {
+            if (pos == null) {
+                continue;
+            }
+            int row = pos.getRow();
+            int col = pos.getColumn();
+            int kingside = row == 1 ? ChessGame.WHITE_KINGSIDE : row == 8 ? ChessGame.BLACK_KINGSIDE : 0;
+            int queenside = row == 1 ? ChessGame.WHITE_QUEENSIDE : row == 8 ? ChessGame.BLACK_QUEENSIDE : 0;
+            if (col == 5) {
+                lost |= kingside | queenside;
+            } else if (col == 8) {
+                lost |= kingside;
+            } else if (col == 1) {
+                lost |= queenside;
+            }
+        }
+        return lost;
+    }
+
+    // The old game allowed en passant whenever the last move was a two-square pawn push
+    private ChessPosition enPassantSquare(ChessBoard pieces, ChessGame.TeamColor toMove) {
+        if (lastMove == null || lastMove.getStartPosition() == null || lastMove.getEndPosition() == null) {
+            return null;
+        }
+        ChessPosition start = lastMove.getStartPosition();
+        ChessPosition end = lastMove.getEndPosition();
+        ChessPiece pawn = pieces.getPiece(end);
+        if (pawn == null || pawn.getPieceType() != ChessPiece.PieceType.PAWN || pawn.getTeamColor() == toMove
+                || start.getColumn() != end.getColumn() || Math.abs(end.getRow() - start.getRow()) != 2) {
+            return null;
+        }
+        return ChessPosition.of((start.getRow() + end.getRow()) / 2, end.getColumn());
+    }
+}
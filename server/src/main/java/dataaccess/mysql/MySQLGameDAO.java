@@ -1,7 +1,6 @@
 package dataaccess.mysql;
 
-import chess.ChessGame;
-import com.google.gson.Gson;
+import chess.GameCodec;
 import dataaccess.DataAccess;
 import dataaccess.DataAccessException;
 import dataaccess.DatabaseManager;
@@ -51,12 +50,12 @@ public class MySQLGameDAO implements GameDAO {
      */
     @Override
     public void addGame(GameData gameData) throws DataAccessException {
-        try (var preparedStatement = conn.prepareStatement("INSERT INTO GAME (ID, WHITENAME, BLACKNAME, GAMENAME, JSON) VALUES(?, ?, ?, ?, ?)")) {
+        try (var preparedStatement = conn.prepareStatement("INSERT INTO GAME (ID, WHITENAME, BLACKNAME, GAMENAME, STATE) VALUES(?, ?, ?, ?, ?)")) {
             preparedStatement.setString(1, String.valueOf(gameData.gameID()));
             preparedStatement.setString(2, gameData.whiteUsername());
             preparedStatement.setString(3, gameData.blackUsername());
             preparedStatement.setString(4, gameData.gameName());
-            preparedStatement.setString(5, new Gson().toJson(gameData.game()));
+            preparedStatement.setBytes(5, GameCodec.encode(gameData.game()));
 
             preparedStatement.executeUpdate();
         } catch (SQLException e) {
@@ -79,10 +78,7 @@ public class MySQLGameDAO implements GameDAO {
                     var whiteUsername = rs.getString("WHITENAME");
                     var blackUsername = rs.getString("BLACKNAME");
                     var gameName = rs.getString("GAMENAME");
-                    var game = new Gson().fromJson(
-                            rs.getString("JSON"),
-                            ChessGame.class
-                    );
+                    var game = GameCodec.decode(rs.getBytes("STATE"));
 
                     return new GameData(
                             gameID,
@@ -116,10 +112,7 @@ public class MySQLGameDAO implements GameDAO {
                     var whiteUsername = rs.getString("WHITENAME");
                     var blackUsername = rs.getString("BLACKNAME");
                     var gameName = rs.getString("GAMENAME");
-                    var game = new Gson().fromJson(
-                            rs.getString("JSON"),
-                            ChessGame.class
-                    );
+                    var game = GameCodec.decode(rs.getBytes("STATE"));
 
                     gameList.add(new GameData(
                             gameID,
@@ -145,11 +138,11 @@ public class MySQLGameDAO implements GameDAO {
     @Override
     public void updateGame(GameData newGame) throws DataAccessException {
         try (var preparedStatement = conn.prepareStatement(
-                "UPDATE GAME SET WHITENAME=?, BLACKNAME=?, GAMENAME=?, JSON=? WHERE ID=?")) {
+                "UPDATE GAME SET WHITENAME=?, BLACKNAME=?, GAMENAME=?, STATE=? WHERE ID=?")) {
             preparedStatement.setString(1, newGame.whiteUsername());
             preparedStatement.setString(2, newGame.blackUsername());
             preparedStatement.setString(3, newGame.gameName());
-            preparedStatement.setString(4, new Gson().toJson(newGame.game()));
+            preparedStatement.setBytes(4, GameCodec.encode(newGame.game()));
             preparedStatement.setString(5, String.valueOf(newGame.gameID()));
 
             preparedStatement.executeUpdate();
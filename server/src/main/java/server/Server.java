@@ -19,6 +19,8 @@ import service.JoinService;
 import service.GameService;
 import service.ClearService;
 import service.AuthenticationService;
+import service.BookService;
+import service.MateService;
 import spark.Spark;
 import spark.Request;
 import spark.Response;
@@ -39,6 +41,8 @@ public class Server {
     private final GameService gameService;
     private final ClearService clearService;
     private final AuthenticationService authService;
+    private final BookService bookService;
+    private final MateService mateService;
 
     public Server() {
         try {
@@ -54,6 +58,8 @@ public class Server {
             gameService         = new GameService(gameDAO);
             clearService        = new ClearService(userDAO, authDAO, gameDAO);
             authService         = new AuthenticationService(authDAO);
+            bookService         = BookService.fromSystemProperty();
+            mateService         = new MateService(gameDAO);
         } catch (ResponseException ex) {
             System.out.printf("Unable to connect to database: %s%n", ex.getMessage());
             throw new RuntimeException("Server initialization failed by database error", ex);
@@ -87,6 +93,11 @@ public class Server {
                 connectionManager.broadcastToOthers(sender.getGameID(), sender, message);
             }
 
+            @Override
+            public void notify(ClientConnection recipient, NotificationMessage message) {
+                recipient.send(message);
+            }
+
             @Override
             public void notifyOthers(ClientConnection sender, NotificationMessage message) {
                 connectionManager.broadcastToOthers(sender.getGameID(), sender, message);
@@ -109,6 +120,8 @@ public class Server {
                 gameService,
                 authService,
                 joinService,
+                bookService,
+                mateService,
                 handler,
                 connectionManager
         );
@@ -122,6 +135,7 @@ public class Server {
         Spark.post("/game",                 this::createGame);
         Spark.put("/game",                  this::joinGame);
         Spark.put("/game/observe/:gameID",  this::observeGame);
+        Spark.post("/puzzle",               this::validatePuzzle);
         Spark.delete("/db",                 this::clearApp);
 
         Spark.exception(ResponseException.class,   this::responseExceptionHandler);
@@ -232,6 +246,17 @@ public class Server {
         return "{}";
     }
 
+    private Object validatePuzzle(Request request, Response response)
+            throws ResponseException, DataAccessException {
+        response.type("application/json");
+        String authToken = request.headers("authorization");
+        authService.authenticate(authToken);
+        PuzzleRequest puzzle = new Gson().fromJson(request.body(), PuzzleRequest.class);
+        PuzzleResponse result = mateService.validatePuzzle(puzzle);
+        response.status(200);
+        return new Gson().toJson(result);
+    }
+
     private Object clearApp(Request request, Response response)
             throws ResponseException, DataAccessException {
         response.type("application/json");
@@ -0,0 +1,73 @@
+package service;
+
+import chess.ChessGame;
+import engine.BookEntry;
+import engine.OpeningBook;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Answers opening book queries from a shared, memory-mapped {@link OpeningBook}.
+ * The server runs without a book unless the {@code chess.book} system
+ * property names a book file.
+ */
+public class BookService {
+    public static final String BOOK_PROPERTY = "chess.book";
+
+    private final OpeningBook book;
+
+    /**
+     * @param book the opening book to answer from, or null to run without one
+     */
+    public BookService(OpeningBook book) {
+        this.book = book;
+    }
+
+    /**
+     * Opens the book named by the {@code chess.book} system property. A missing
+     * or unreadable book only disables book queries.
+     */
+    public static BookService fromSystemProperty() {
+        String path = System.getProperty(BOOK_PROPERTY);
+        if (path == null || path.isBlank()) {
+            return new BookService(null);
+        }
+        try {
+            return new BookService(OpeningBook.open(Path.of(path)));
+        } catch (IOException e) {
+            System.out.printf("Unable to open opening book %s: %s%n", path, e.getMessage());
+            return new BookService(null);
+        }
+    }
+
+    /**
+     * Describes the book moves for the game's position with the share of
+     * games each was played in, for example "e4 (60%), d4 (40%)".
+     */
+    public String describeBookMoves(ChessGame game) {
+        if (book == null) {
+            return "No opening book is loaded";
+        }
+        List<BookEntry> entries = book.lookup(game);
+        if (entries.isEmpty()) {
+            return "No book moves for this position";
+        }
+        long total = 0;
+        for (BookEntry entry : entries) {
+            total += entry.weight();
+        }
+
+        StringBuilder text = new StringBuilder("Book moves: ");
+        for (int i = 0; i < entries.size(); i++) {
+            BookEntry entry = entries.get(i);
+            if (i > 0) {
+                text.append(", ");
+            }
+            text.append(game.toSan(entry.move()))
+                    .append(" (").append(Math.round(100.0 * entry.weight() / total)).append("%)");
+        }
+        return text.toString();
+    }
+}
@@ -1,6 +1,7 @@
 package service;
 
 import chess.ChessGame;
+import chess.MoveResult;
 import dataaccess.DataAccessException;
 import dataaccess.GameDAO;
 import exception.ResponseException;
@@ -49,7 +50,7 @@ public class GameService {
         return gameData;
     }
 
-    public void makeMove(int gameID, String username, chess.ChessMove move) throws ResponseException, DataAccessException {
+    public MoveResult makeMove(int gameID, String username, chess.ChessMove move) throws ResponseException, DataAccessException {
         // Synchronize on gameID to prevent concurrent modifications to the same game
         synchronized (("game_move_" + gameID).intern()) {
             GameData gameData = getGameData(gameID);
@@ -60,8 +61,9 @@ public class GameService {
                 throw new ResponseException(400, "Cannot move: game is already over");
             }
 
+            MoveResult result;
             try {
-                game.makeMove(move);
+                result = game.makeMove(move);
             } catch (Exception e) {
                 throw new ResponseException(400, "Invalid move: " + e.getMessage());
             }
@@ -75,6 +77,7 @@ public class GameService {
             );
 
             gameDAO.updateGame(updatedGame);
+            return result;
         }
     }
 
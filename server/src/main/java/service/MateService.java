@@ -0,0 +1,128 @@
+package service;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.InvalidMoveException;
+import dataaccess.DataAccessException;
+import dataaccess.GameDAO;
+import engine.MateResult;
+import engine.MateSolver;
+import exception.ResponseException;
+import model.GameData;
+import model.PuzzleRequest;
+import model.PuzzleResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Handles mate puzzle checks and "find the mate" hints.
+ */
+public class MateService {
+    /**
+     * The deepest mate looked for in hints, which keeps them well under a second.
+     */
+    public static final int HINT_MOVES = 4;
+
+    /**
+     * The deepest puzzle that can be checked; each move deeper multiplies the work.
+     */
+    public static final int MAX_PUZZLE_MOVES = 5;
+
+    /**
+     * Positions a single check or hint may visit, about a second of solving,
+     * after which the answer is reported as unknown.
+     */
+    public static final long NODE_LIMIT = 1_000_000;
+
+    // Hints searched at once, and hints allowed to wait for a free thread
+    private static final int HINT_THREADS = 2;
+    private static final int HINT_QUEUE = 16;
+
+    private final GameDAO gameDAO;
+    private final ExecutorService hints;
+
+    public MateService(GameDAO gameDAO) {
+        this.gameDAO = gameDAO;
+        AtomicInteger count = new AtomicInteger();
+        this.hints = new ThreadPoolExecutor(HINT_THREADS, HINT_THREADS, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(HINT_QUEUE), runnable -> {
+                    Thread thread = new Thread(runnable, "mate-hint-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Checks that a game's position is a sound mate puzzle: the side to move
+     * mates in exactly the claimed number of moves, and only one first move does.
+     */
+    public PuzzleResponse validatePuzzle(PuzzleRequest request) throws ResponseException, DataAccessException {
+        if (request == null || request.gameID() == null || request.moves() == null) {
+            throw new ResponseException(400, "Missing game ID or number of moves");
+        }
+        if (request.moves() < 1 || request.moves() > MAX_PUZZLE_MOVES) {
+            throw new ResponseException(400, "Number of moves must be between 1 and " + MAX_PUZZLE_MOVES);
+        }
+        GameData data = gameDAO.getGame(request.gameID());
+        if (data == null) {
+            throw new ResponseException(400, "Game not found");
+        }
+
+        ChessGame game = data.game();
+        MateSolver solver = new MateSolver(game);
+        solver.setNodeLimit(NODE_LIMIT);
+        MateResult result = solver.solve(request.moves());
+        boolean valid = result.moves() == request.moves() && solver.keyMoves(result.moves()).size() == 1;
+        boolean complete = result.complete() && !solver.isStopped();
+        return new PuzzleResponse(valid && complete, complete, result.moves(), toSan(game, result.line()));
+    }
+
+    /**
+     * Describes the shortest mate for the side to move, for example
+     * "Mate in 2: Qg8+ Rxg8 Nf7#".
+     */
+    public String describeMate(ChessGame game) {
+        MateSolver solver = new MateSolver(game);
+        solver.setNodeLimit(NODE_LIMIT);
+        MateResult result = solver.solve(HINT_MOVES);
+        if (!result.isFound()) {
+            return result.complete()
+                    ? "No mate in " + HINT_MOVES + " moves or fewer"
+                    : "No mate found in " + HINT_MOVES + " moves or fewer before the search limit";
+        }
+        return "Mate in " + result.moves() + ": " + String.join(" ", toSan(game, result.line()));
+    }
+
+    /**
+     * Runs {@link #describeMate} on the service's own small pool, so callers
+     * such as the WebSocket handler are not held up for the search. The game
+     * is copied before this returns.
+     *
+     * @throws RejectedExecutionException if too many hints are already waiting
+     */
+    public CompletableFuture<String> describeMateAsync(ChessGame game) {
+        ChessGame snapshot = new ChessGame(game);
+        return CompletableFuture.supplyAsync(() -> describeMate(snapshot), hints);
+    }
+
+    private static List<String> toSan(ChessGame game, List<ChessMove> line) {
+        ChessGame copy = new ChessGame(game);
+        List<String> san = new ArrayList<>(line.size());
+        try {
+            for (ChessMove move : line) {
+                san.add(copy.makeMove(move).san());
+            }
+        } catch (InvalidMoveException e) {
+            throw new IllegalStateException("Mating line contains an illegal move", e);
+        }
+        return san;
+    }
+}
@@ -48,7 +48,8 @@ public class ClientConnection {
         return session != null && session.isOpen();
     }
 
-    public void send(String message) {
+    // Synchronized since background work, such as mate hints, also sends to the session
+    public synchronized void send(String message) {
         if (!isOpen()) {
             return;
         }
@@ -10,6 +10,7 @@ public interface NotificationHandler {
     void loadGame(ClientConnection recipient, LoadGameMessage message);
     void updateGame(ClientConnection recipient, LoadGameMessage message);
     void error(ClientConnection recipient, ErrorMessage message);
+    void notify(ClientConnection recipient, NotificationMessage message);
 
     // Broadcast to others in the same game
     void notifyOthers(ClientConnection sender, NotificationMessage message);
@@ -1,6 +1,7 @@
 package websocket;
 
 import chess.ChessGame;
+import chess.MoveResult;
 import com.google.gson.GsonBuilder;
 import dataaccess.DataAccessException;
 import exception.ResponseException;
@@ -9,8 +10,10 @@ import model.JoinGameRequest;
 import org.eclipse.jetty.websocket.api.Session;
 import org.eclipse.jetty.websocket.api.annotations.*;
 import service.AuthenticationService;
+import service.BookService;
 import service.GameService;
 import service.JoinService;
+import service.MateService;
 import websocket.commands.UserGameCommand;
 import websocket.commands.UserGameCommand.CommandType;
 import websocket.messages.*;
@@ -18,6 +21,8 @@ import websocket.messages.*;
 import com.google.gson.Gson;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @WebSocket
 public class WebSocketHandler {
@@ -29,6 +34,8 @@ public class WebSocketHandler {
     private static GameService gameService;
     private static AuthenticationService authService;
     private static JoinService joinService;
+    private static BookService bookService;
+    private static MateService mateService;
     private static NotificationHandler notificationHandler;
     private static ConnectionManager connectionManager;
 
@@ -36,12 +43,16 @@ public class WebSocketHandler {
             GameService gs,
             AuthenticationService as,
             JoinService js,
+            BookService bs,
+            MateService ms,
             NotificationHandler nh,
             ConnectionManager cm
     ) {
         gameService = gs;
         authService = as;
         joinService = js;
+        bookService = bs;
+        mateService = ms;
         notificationHandler = nh;
         connectionManager = cm;
     }
@@ -93,6 +104,18 @@ public class WebSocketHandler {
                     }
                     handleLeave(conn);
                 }
+                case BOOK_MOVE, FIND_MATE -> {
+                    ClientConnection conn = connectionManager.getConnection(session);
+                    if (conn == null) {
+                        sendRaw(session, GSON.toJson(new ErrorMessage("No active connection")));
+                        return;
+                    }
+                    if (type == CommandType.BOOK_MOVE) {
+                        handleBookMove(conn);
+                    } else {
+                        handleFindMate(conn);
+                    }
+                }
                 default -> sendRaw(session, GSON.toJson(new ErrorMessage("Unknown command: " + type)));
             }
 
@@ -242,7 +265,7 @@ public class WebSocketHandler {
                 }
 
                 // Make the move
-                gameService.makeMove(gameID, user, cmd.getMove());
+                MoveResult result = gameService.makeMove(gameID, user, cmd.getMove());
 
                 // Get updated game state
                 ChessGame updated = gameService.getGameData(gameID).game();
@@ -251,30 +274,29 @@ public class WebSocketHandler {
                 notificationHandler.notifyGame(gameID, new LoadGameMessage(updated, null));
 
                 // Send move notification
-                var mv = cmd.getMove();
-                var piece = updated.getBoard().getPiece(mv.getEndPosition());
-                String text = String.format("%s moved %s from %s to %s",
+                var mv = result.move();
+                String text = String.format("%s moved %s from %s to %s (%s)",
                         user,
-                        piece != null ? piece.getPieceType() : "a piece",
+                        result.piece().getPieceType(),
                         positionToString(mv.getStartPosition()),
-                        positionToString(mv.getEndPosition()));
+                        positionToString(mv.getEndPosition()),
+                        result.san());
                 notificationHandler.notifyOthers(conn, new NotificationMessage(text));
 
-                // Check for game end conditions
-                if (updated.isInCheckmate(ChessGame.TeamColor.WHITE)) {
-                    String winner = data.blackUsername() != null ? data.blackUsername() : "BLACK";
-                    String loser = data.whiteUsername() != null ? data.whiteUsername() : "WHITE";
-                    notificationHandler.notifyGame(gameID, new NotificationMessage(loser + " is in checkmate! " + winner + " wins!"));
-                } else if (updated.isInCheckmate(ChessGame.TeamColor.BLACK)) {
-                    String winner = data.whiteUsername() != null ? data.whiteUsername() : "WHITE";
-                    String loser = data.blackUsername() != null ? data.blackUsername() : "BLACK";
-                    notificationHandler.notifyGame(gameID, new NotificationMessage(loser + " is in checkmate! " + winner + " wins!"));
-                } else if (updated.isInCheck(ChessGame.TeamColor.WHITE)) {
-                    String checkedPlayer = data.whiteUsername() != null ? data.whiteUsername() : "WHITE";
-                    notificationHandler.notifyGame(gameID, new NotificationMessage(checkedPlayer + " is in check!"));
-                } else if (updated.isInCheck(ChessGame.TeamColor.BLACK)) {
-                    String checkedPlayer = data.blackUsername() != null ? data.blackUsername() : "BLACK";
-                    notificationHandler.notifyGame(gameID, new NotificationMessage(checkedPlayer + " is in check!"));
+                // Check for game end conditions; the status is for the side now to move
+                boolean whiteMoved = result.piece().getTeamColor() == ChessGame.TeamColor.WHITE;
+                String mover = whiteMoved
+                        ? (data.whiteUsername() != null ? data.whiteUsername() : "WHITE")
+                        : (data.blackUsername() != null ? data.blackUsername() : "BLACK");
+                String opponent = whiteMoved
+                        ? (data.blackUsername() != null ? data.blackUsername() : "BLACK")
+                        : (data.whiteUsername() != null ? data.whiteUsername() : "WHITE");
+                if (result.status() == ChessGame.GameStatus.CHECKMATE) {
+                    notificationHandler.notifyGame(gameID, new NotificationMessage(opponent + " is in checkmate! " + mover + " wins!"));
+                } else if (result.status() == ChessGame.GameStatus.CHECK) {
+                    notificationHandler.notifyGame(gameID, new NotificationMessage(opponent + " is in check!"));
+                } else if (result.status().isDraw()) {
+                    notificationHandler.notifyGame(gameID, new NotificationMessage("The game is drawn by " + drawReason(result.status()) + "."));
                 }
 
             } catch (ResponseException | DataAccessException e) {
@@ -322,6 +344,43 @@ public class WebSocketHandler {
         }
     }
 
+    private void handleBookMove(ClientConnection conn) {
+        try {
+            ChessGame game = gameService.getGameData(conn.getGameID()).game();
+            notificationHandler.notify(conn, new NotificationMessage(bookService.describeBookMoves(game)));
+        } catch (ResponseException | DataAccessException e) {
+            System.err.println("Book lookup failed: " + e.getMessage());
+            notificationHandler.error(conn, new ErrorMessage("Book lookup failed: " + e.getMessage()));
+        }
+    }
+
+    private void handleFindMate(ClientConnection conn) {
+        try {
+            ChessGame game = gameService.getGameData(conn.getGameID()).game();
+            if (game.isGameOver()) {
+                notificationHandler.error(conn, new ErrorMessage("Game is already over"));
+                return;
+            }
+            CompletableFuture<String> hint;
+            synchronized (("game_" + conn.getGameID()).intern()) {
+                hint = mateService.describeMateAsync(game);
+            }
+            hint.whenComplete((text, error) -> {
+                if (error != null) {
+                    System.err.println("Mate search failed: " + error.getMessage());
+                    notificationHandler.error(conn, new ErrorMessage("Mate search failed"));
+                } else {
+                    notificationHandler.notify(conn, new NotificationMessage(text));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            notificationHandler.error(conn, new ErrorMessage("Too many mate searches running, try again shortly"));
+        } catch (ResponseException | DataAccessException e) {
+            System.err.println("Mate search failed: " + e.getMessage());
+            notificationHandler.error(conn, new ErrorMessage("Mate search failed: " + e.getMessage()));
+        }
+    }
+
     private void handleLeave(ClientConnection conn) {
         if (conn == null) {
             return;
@@ -349,6 +408,15 @@ public class WebSocketHandler {
         }
     }
 
+    private String drawReason(ChessGame.GameStatus status) {
+        return switch (status) {
+            case DRAW_REPETITION -> "threefold repetition";
+            case DRAW_FIFTY_MOVES -> "the fifty-move rule";
+            case DRAW_INSUFFICIENT_MATERIAL -> "insufficient material";
+            default -> "stalemate";
+        };
+    }
+
     private String positionToString(chess.ChessPosition pos) {
         if (pos == null) {
             return "";
@@ -0,0 +1,59 @@
+package dataaccess;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import chess.GameCodec;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LegacyGameJsonTest {
+    // Stored by the original ChessGame after 1. e4 d5 2. Ke2 d4 3. c4
+    private static final String STORED_GAME = "{\"turn\":\"BLACK\",\"board\":{\"board\":[[{\"color\":\"WHITE\",\"type\":\"ROOK\"},"
+            + "{\"color\":\"WHITE\",\"type\":\"KNIGHT\"},{\"color\":\"WHITE\",\"type\":\"BISHOP\"},"
+            + "{\"color\":\"WHITE\",\"type\":\"QUEEN\"},null,{\"color\":\"WHITE\",\"type\":\"BISHOP\"},"
+            + "{\"color\":\"WHITE\",\"type\":\"KNIGHT\"},{\"color\":\"WHITE\",\"type\":\"ROOK\"}],"
+            + "[{\"color\":\"WHITE\",\"type\":\"PAWN\"},{\"color\":\"WHITE\",\"type\":\"PAWN\"},"
+            + "null,{\"color\":\"WHITE\",\"type\":\"PAWN\"},{\"color\":\"WHITE\",\"type\":\"KING\"},"
+            + "{\"color\":\"WHITE\",\"type\":\"PAWN\"},{\"color\":\"WHITE\",\"type\":\"PAWN\"},{\"color\":\"WHITE\",\"type\":\"PAWN\"}],"
+            + "[null,null,null,null,null,null,null,null],"
+            + "[null,null,{\"color\":\"WHITE\",\"type\":\"PAWN\"},{\"color\":\"BLACK\",\"type\":\"PAWN\"},"
+            + "{\"color\":\"WHITE\",\"type\":\"PAWN\"},null,null,null],"
+            + "[null,null,null,null,null,null,null,null],"
+            + "[null,null,null,null,null,null,null,null],"
+            + "[{\"color\":\"BLACK\",\"type\":\"PAWN\"},{\"color\":\"BLACK\",\"type\":\"PAWN\"},{\"color\":\"BLACK\",\"type\":\"PAWN\"},"
+            + "null,{\"color\":\"BLACK\",\"type\":\"PAWN\"},{\"color\":\"BLACK\",\"type\":\"PAWN\"},"
+            + "{\"color\":\"BLACK\",\"type\":\"PAWN\"},{\"color\":\"BLACK\",\"type\":\"PAWN\"}],"
+            + "[{\"color\":\"BLACK\",\"type\":\"ROOK\"},{\"color\":\"BLACK\",\"type\":\"KNIGHT\"},"
+            + "{\"color\":\"BLACK\",\"type\":\"BISHOP\"},{\"color\":\"BLACK\",\"type\":\"QUEEN\"},{\"color\":\"BLACK\",\"type\":\"KING\"},"
+            + "{\"color\":\"BLACK\",\"type\":\"BISHOP\"},{\"color\":\"BLACK\",\"type\":\"KNIGHT\"},"
+            + "{\"color\":\"BLACK\",\"type\":\"ROOK\"}]]},\"lastMove\":{\"start\":{\"row\":2,\"col\":3},\"end\":{\"row\":4,\"col\":3}},"
+            + "\"hasMoved\":[{\"row\":5,\"col\":4},{\"row\":2,\"col\":3},{\"row\":2,\"col\":5},{\"row\":1,\"col\":5},"
+            + "{\"row\":7,\"col\":4}],"
+            + "\"gameOver\":false}";
+
+    @Test
+    void testMigratesStoredGame() {
+        ChessGame game = GameCodec.decode(DataAccess.migrateGame(STORED_GAME));
+        Assertions.assertEquals("rnbqkbnr/ppp1pppp/8/8/2PpP3/8/PP1PKPPP/RNBQ1BNR b kq c3 0 1", game.toFen());
+        Assertions.assertEquals(ChessMove.of(ChessPosition.of(2, 3), ChessPosition.of(4, 3), null), game.getLastMove());
+        Assertions.assertTrue(game.validMoves(ChessPosition.of(4, 4))
+                .contains(ChessMove.of(ChessPosition.of(4, 4), ChessPosition.of(3, 3), null)));
+    }
+
+    @Test
+    void testMigratesFinishedGame() {
+        String json = STORED_GAME.replace("\"gameOver\":false", "\"gameOver\":true,\"winner\":\"WHITE\"");
+        ChessGame game = GameCodec.decode(DataAccess.migrateGame(json));
+        Assertions.assertTrue(game.isGameOver());
+        Assertions.assertEquals(ChessGame.TeamColor.WHITE, game.getWinner());
+    }
+
+    @Test
+    void testRejectsUnreadableGame() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DataAccess.migrateGame("{\"turn\":\"WHITE\"}"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DataAccess.migrateGame("not json"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> DataAccess.migrateGame("{\"board\":{\"board\":[[null]]}}"));
+    }
+}
@@ -0,0 +1,38 @@
+package service;
+
+import chess.ChessGame;
+import engine.OpeningBook;
+import engine.OpeningBookBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+
+public class BookServiceTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void testDescribeBookMoves() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(10);
+        builder.addPgn(new StringReader("1. e4 e5 1-0 1. e4 c5 0-1 1. e4 e6 * 1. d4 d5 *"));
+        Path path = directory.resolve("book.bin");
+        builder.write(path, 1);
+
+        try (OpeningBook book = OpeningBook.open(path)) {
+            BookService service = new BookService(book);
+            Assertions.assertEquals("Book moves: e4 (75%), d4 (25%)", service.describeBookMoves(new ChessGame()));
+            ChessGame offBook = ChessGame.fromFen("rnbqkbnr/pppppppp/8/8/8/N7/PPPPPPPP/R1BQKBNR b KQkq - 1 1");
+            Assertions.assertEquals("No book moves for this position", service.describeBookMoves(offBook));
+        }
+    }
+
+    @Test
+    void testNoBook() {
+        BookService service = new BookService(null);
+        Assertions.assertEquals("No opening book is loaded", service.describeBookMoves(new ChessGame()));
+    }
+}
@@ -0,0 +1,75 @@
+package service;
+
+import chess.ChessGame;
+import dataaccess.DataAccessException;
+import dataaccess.memory.MemoryGameDAO;
+import exception.ResponseException;
+import model.GameData;
+import model.PuzzleRequest;
+import model.PuzzleResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import passoff.chess.TestUtilities;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class MateServiceTest {
+    static final MemoryGameDAO GAME_DAO = new MemoryGameDAO();
+    static final MateService SERVICE = new MateService(GAME_DAO);
+
+    @BeforeEach
+    void setUp() throws DataAccessException {
+        GAME_DAO.clear();
+        ChessGame game = new ChessGame();
+        game.setBoard(TestUtilities.loadBoard("""
+                | | | | |r| | |k|
+                | | | | | | |p|p|
+                | | | | | | | |N|
+                | | | | | | | | |
+                | | |Q| | | | | |
+                | | | | | | | | |
+                | | | | | | |P|P|
+                | | | | | | | |K|
+                """));
+        GAME_DAO.addGame(new GameData(7, null, null, "puzzle", game));
+    }
+
+    @Test
+    void testValidPuzzle() throws ResponseException, DataAccessException {
+        PuzzleResponse response = SERVICE.validatePuzzle(new PuzzleRequest(7, 2));
+        Assertions.assertTrue(response.valid());
+        Assertions.assertTrue(response.complete());
+        Assertions.assertEquals(2, response.mateIn());
+        Assertions.assertEquals(List.of("Qg8+", "Rxg8", "Nf7#"), response.solution());
+    }
+
+    @Test
+    void testWrongLength() throws ResponseException, DataAccessException {
+        PuzzleResponse response = SERVICE.validatePuzzle(new PuzzleRequest(7, 3));
+        Assertions.assertFalse(response.valid());
+        Assertions.assertEquals(2, response.mateIn());
+    }
+
+    @Test
+    void testBadRequest() {
+        Assertions.assertThrows(ResponseException.class, () -> SERVICE.validatePuzzle(new PuzzleRequest(8, 2)));
+        Assertions.assertThrows(ResponseException.class, () -> SERVICE.validatePuzzle(new PuzzleRequest(7, 0)));
+        Assertions.assertThrows(ResponseException.class,
+                () -> SERVICE.validatePuzzle(new PuzzleRequest(7, MateService.MAX_PUZZLE_MOVES + 1)));
+    }
+
+    @Test
+    void testDescribeMate() throws DataAccessException {
+        ChessGame game = GAME_DAO.getGame(7).game();
+        Assertions.assertEquals("Mate in 2: Qg8+ Rxg8 Nf7#", SERVICE.describeMate(game));
+        Assertions.assertEquals("No mate in 4 moves or fewer", SERVICE.describeMate(new ChessGame()));
+    }
+
+    @Test
+    void testDescribeMateAsync() throws Exception {
+        ChessGame game = GAME_DAO.getGame(7).game();
+        Assertions.assertEquals("Mate in 2: Qg8+ Rxg8 Nf7#", SERVICE.describeMateAsync(game).get(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,220 @@
+package chess;
+
+/**
+ * Precomputed attack tables shared by every board. Knight, king and pawn
+ * attacks are plain per-square lookups; rook and bishop attacks use "fancy"
+ * magic bitboards, hashing the relevant blockers on a square into a slot of
+ * a shared attack table. Everything is built once when the class loads.
+ */
+public final class Attacks {
+    private static final long[] ROOK_MAGICS = {
+            0x008008816090C000L, 0x0040004010002000L, 0x1200084200208010L, 0x0880100008000580L,
+            0x0100040800100300L, 0x4A00143810020001L, 0x0C00100221408408L, 0x0100008026114100L,
+            0x18028002A081C000L, 0x0040401000200040L, 0x8010801000802000L, 0x8200808010000800L,
+            0x0090800400800800L, 0x8000800200040080L, 0x0044000102088410L, 0x8030800100006080L,
+            0x2214208004400080L, 0x000021004001008AL, 0x8005120022418200L, 0x1008010100201000L,
+            0x8002020020081004L, 0x0000808004000200L, 0x4306040008011042L, 0x0000020000804104L,
+            0x0040800080204000L, 0x0030200080400080L, 0xC000200880100080L, 0x0083030900201000L,
+            0x0118041100080100L, 0x0000020080800400L, 0x0010010400024810L, 0x0051800080204100L,
+            0x0C00400221800080L, 0x4240401000402000L, 0x1144284202001180L, 0x4200100009002102L,
+            0x0426002006001008L, 0x0000800200800400L, 0x00C051508C000208L, 0x1482800060801100L,
+            0x248B400025808000L, 0x0110002000404009L, 0x0600200041010010L, 0x0050100008008080L,
+            0xA080080004008080L, 0x0C00020004008080L, 0x0050010002008080L, 0x06C0040282420019L,
+            0x000541012A108200L, 0x0520008020400180L, 0x0802004820108200L, 0x0410220012094200L,
+            0x00080101A80C3100L, 0x012DA04010444801L, 0x0101000200040100L, 0x0008040041208200L,
+            0x0040800104201643L, 0x0640018125041241L, 0x000242001022800AL, 0x0002882085001001L,
+            0x4081001048000205L, 0x8041000400080203L, 0x0082011800821044L, 0x1010008064004312L
+    };
+
+    private static final long[] BISHOP_MAGICS = {
+            0x1010048084004200L, 0x0050250852828000L, 0x1008089411800021L, 0x0C24440080000111L,
+            0x0404042000001001L, 0x804A084404400040L, 0x010E020202410000L, 0x40050400849410A0L,
+            0x2001200901080080L, 0x0180080808008820L, 0x4044448404004010L, 0x8004841042000000L,
+            0x01010C03080402C4L, 0x0020108821080100L, 0x9000008811882048L, 0x0000108880B01000L,
+            0x1110910420021400L, 0x2950000922008401L, 0x2028901004001020L, 0x9004004802400990L,
+            0x000C002088A0000AL, 0x0401000201010168L, 0xA022000422010400L, 0x8000208044141410L,
+            0x8894840052101028L, 0x1001100058304500L, 0x0110300102140041L, 0x00C600600E008200L,
+            0x3000848044002000L, 0x0801020000405000L, 0x8404010080980114L, 0x2101004206006400L,
+            0x0009344002111002L, 0x04041008802D0100L, 0x0600220800110800L, 0x08001008200C0400L,
+            0x0040004010410100L, 0x0010500940428042L, 0x0008080040010140L, 0x0000A10844A20200L,
+            0x200208A008020411L, 0x0004008884004808L, 0x8012101808080400L, 0x200C0A2011000801L,
+            0x2002213024004880L, 0x006040910A000040L, 0x2020410C02804300L, 0x9401020400420118L,
+            0x080090A410C00002L, 0x00C8484808080000L, 0x0048804200908160L, 0x0300000420880080L,
+            0x00800C0410440202L, 0x0000040488120C00L, 0x8422221421040001L, 0x8020081901003080L,
+            0x0000208400884008L, 0x8000902088280820L, 0x1400080200940408L, 0xC400080980208820L,
+            0x9400140006B04400L, 0x0D00404130020482L, 0x0190229202420C00L, 0x5042140904040082L
+    };
+
+    private static final long[] KNIGHT = new long[64];
+    private static final long[] KING = new long[64];
+    private static final long[][] PAWN = new long[2][64];
+
+    private static final long[] ROOK_MASKS = new long[64];
+    private static final long[] BISHOP_MASKS = new long[64];
+    private static final int[] ROOK_SHIFTS = new int[64];
+    private static final int[] BISHOP_SHIFTS = new int[64];
+    private static final int[] ROOK_OFFSETS = new int[64];
+    private static final int[] BISHOP_OFFSETS = new int[64];
+    private static final long[][] BETWEEN = new long[64][64];
+    private static final long[][] LINE = new long[64][64];
+    private static final long[] ROOK_TABLE;
+    private static final long[] BISHOP_TABLE;
+
+    private static final int[][] ROOK_DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+    private static final int[][] KNIGHT_DELTAS = {
+            {2, 1}, {1, 2}, {-1, 2}, {-2, 1}, {-2, -1}, {-1, -2}, {1, -2}, {2, -1}
+    };
+    private static final int[][] KING_DELTAS = {
+            {1, 1}, {1, 0}, {1, -1}, {0, 1}, {0, -1}, {-1, 1}, {-1, 0}, {-1, -1}
+    };
+
+    static {
+        for (int sq = 0; sq < 64; sq++) {
+            KNIGHT[sq] = jumps(sq, KNIGHT_DELTAS);
+            KING[sq] = jumps(sq, KING_DELTAS);
+            PAWN[0][sq] = jumps(sq, new int[][]{{1, -1}, {1, 1}});
+            PAWN[1][sq] = jumps(sq, new int[][]{{-1, -1}, {-1, 1}});
+        }
+        ROOK_TABLE = buildSliderTable(ROOK_DIRECTIONS, ROOK_MAGICS, ROOK_MASKS, ROOK_SHIFTS, ROOK_OFFSETS);
+        BISHOP_TABLE = buildSliderTable(BISHOP_DIRECTIONS, BISHOP_MAGICS, BISHOP_MASKS, BISHOP_SHIFTS, BISHOP_OFFSETS);
+        for (int a = 0; a < 64; a++) {
+            for (int b = 0; b < 64; b++) {
+                buildLine(a, b);
+            }
+        }
+    }
+
+    private Attacks() {}
+
+    public static long knight(int square) {
+        return KNIGHT[square];
+    }
+
+    public static long king(int square) {
+        return KING[square];
+    }
+
+    /**
+     * Squares a pawn of the given color attacks diagonally from the square.
+     */
+    public static long pawn(ChessGame.TeamColor color, int square) {
+        return PAWN[color.ordinal()][square];
+    }
+
+    public static long rook(int square, long occupied) {
+        int slot = (int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square]);
+        return ROOK_TABLE[ROOK_OFFSETS[square] + slot];
+    }
+
+    public static long bishop(int square, long occupied) {
+        int slot = (int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square]);
+        return BISHOP_TABLE[BISHOP_OFFSETS[square] + slot];
+    }
+
+    public static long queen(int square, long occupied) {
+        return rook(square, occupied) | bishop(square, occupied);
+    }
+
+    /**
+     * @return the squares strictly between two squares on a shared rank, file
+     * or diagonal, or 0 if they are not aligned
+     */
+    public static long between(int a, int b) {
+        return BETWEEN[a][b];
+    }
+
+    /**
+     * @return the whole rank, file or diagonal through both squares, or 0 if
+     * they are not aligned
+     */
+    public static long line(int a, int b) {
+        return LINE[a][b];
+    }
+
+    private static void buildLine(int a, int b) {
+        if (a == b) {
+            return;
+        }
+        long bBit = Bitboards.bit(b);
+        for (int[][] directions : new int[][][]{ROOK_DIRECTIONS, BISHOP_DIRECTIONS}) {
+            if ((slowAttacks(a, 0L, directions) & bBit) != 0) {
+                long aBit = Bitboards.bit(a);
+                BETWEEN[a][b] = slowAttacks(a, bBit, directions) & slowAttacks(b, aBit, directions);
+                LINE[a][b] = (slowAttacks(a, 0L, directions) & slowAttacks(b, 0L, directions)) | aBit | bBit;
+            }
+        }
+    }
+
+    private static long jumps(int square, int[][] deltas) {
+        long result = 0L;
+        for (int[] d : deltas) {
+            int row = Bitboards.row(square) + d[0];
+            int col = Bitboards.column(square) + d[1];
+            if (Bitboards.isOnBoard(row, col)) {
+                result |= Bitboards.bit(Bitboards.square(row, col));
+            }
+        }
+        return result;
+    }
+
+    private static long[] buildSliderTable(int[][] directions, long[] magics,
+                                           long[] masks, int[] shifts, int[] offsets) {
+        int size = 0;
+        for (int sq = 0; sq < 64; sq++) {
+            masks[sq] = relevantBlockers(sq, directions);
+            int bits = Long.bitCount(masks[sq]);
+            shifts[sq] = 64 - bits;
+            offsets[sq] = size;
+            size += 1 << bits;
+        }
+
+        long[] table = new long[size];
+        for (int sq = 0; sq < 64; sq++) {
+            long mask = masks[sq];
+            long subset = 0L;
+            do {
+                int slot = (int) ((subset * magics[sq]) >>> shifts[sq]);
+                table[offsets[sq] + slot] = slowAttacks(sq, subset, directions);
+                subset = (subset - mask) & mask;
+            } while (subset != 0);
+        }
+        return table;
+    }
+
+    /**
+     * Squares along the rays whose occupancy can change the attack set; the
+     * last square of each ray is left out since nothing lies beyond it.
+     */
+    private static long relevantBlockers(int square, int[][] directions) {
+        long result = 0L;
+        for (int[] d : directions) {
+            int row = Bitboards.row(square) + d[0];
+            int col = Bitboards.column(square) + d[1];
+            while (Bitboards.isOnBoard(row + d[0], col + d[1])) {
+                result |= Bitboards.bit(Bitboards.square(row, col));
+                row += d[0];
+                col += d[1];
+            }
+        }
+        return result;
+    }
+
+    private static long slowAttacks(int square, long occupied, int[][] directions) {
+        long result = 0L;
+        for (int[] d : directions) {
+            int row = Bitboards.row(square) + d[0];
+            int col = Bitboards.column(square) + d[1];
+            while (Bitboards.isOnBoard(row, col)) {
+                long bit = Bitboards.bit(Bitboards.square(row, col));
+                result |= bit;
+                if ((occupied & bit) != 0) {
+                    break;
+                }
+                row += d[0];
+                col += d[1];
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,40 @@
+package chess;
+
+/**
+ * Square indexing and mask helpers for the bitboard board representation.
+ * Squares are numbered 0..63 with a1 = 0, h1 = 7 and h8 = 63, so bit
+ * (row - 1) * 8 + (column - 1) of a bitboard stands for that position.
+ */
+public final class Bitboards {
+    public static final long FILE_A = 0x0101010101010101L;
+    public static final long FILE_H = FILE_A << 7;
+    public static final long RANK_1 = 0xFFL;
+    public static final long RANK_8 = RANK_1 << 56;
+    public static final long LIGHT_SQUARES = 0x55AA55AA55AA55AAL;
+
+    private Bitboards() {}
+
+    public static int square(int row, int col) {
+        return (row - 1) * 8 + (col - 1);
+    }
+
+    public static int square(ChessPosition pos) {
+        return square(pos.getRow(), pos.getColumn());
+    }
+
+    public static int row(int square) {
+        return (square >>> 3) + 1;
+    }
+
+    public static int column(int square) {
+        return (square & 7) + 1;
+    }
+
+    public static long bit(int square) {
+        return 1L << square;
+    }
+
+    public static boolean isOnBoard(int row, int col) {
+        return row >= 1 && row <= 8 && col >= 1 && col <= 8;
+    }
+}
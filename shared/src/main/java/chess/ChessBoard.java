@@ -1,30 +1,229 @@
 package chess;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.Arrays;
 
+/**
+ * Bitboard-backed chessboard. Each of the twelve colored piece kinds has its
+ * own 64-bit mask (see {@link ChessPiece#index}), alongside per-color and
+ * total occupancy masks that are kept in sync on every add/remove.
+ */
+@JsonAdapter(ChessBoard.Adapter.class)
 public class ChessBoard {
-    private ChessPiece[][] board;
+    private long[] pieces;
+    private long[] colors;
+    private long occupied;
+    private long pieceKey;
+    private long material;
+    private int midgame;
+    private int endgame;
+    private int phase;
 
     public ChessBoard() {
-        board = new ChessPiece[8][8];
+        pieces = new long[12];
+        colors = new long[2];
+        occupied = 0L;
+        pieceKey = 0L;
+        material = 0L;
+    }
+
+    public ChessBoard(ChessBoard other) {
+        pieces = other.pieces.clone();
+        colors = other.colors.clone();
+        occupied = other.occupied;
+        pieceKey = other.pieceKey;
+        material = other.material;
+        midgame = other.midgame;
+        endgame = other.endgame;
+        phase = other.phase;
     }
 
     public void addPiece(ChessPosition pos, ChessPiece piece) {
-        board[pos.getRow() - 1][pos.getColumn() - 1] = piece;
+        int square = Bitboards.square(pos);
+        clearSquare(square);
+        if (piece != null) {
+            setSquare(square, piece.index());
+        }
     }
+
     public void removePiece(ChessPosition pos) {
-        board[pos.getRow()-1][pos.getColumn()-1] = null;
+        clearSquare(Bitboards.square(pos));
     }
 
     public ChessPiece getPiece(ChessPosition pos) {
-        return board[pos.getRow() - 1][pos.getColumn() - 1];
+        int index = getPieceIndex(Bitboards.square(pos));
+        return index < 0 ? null : ChessPiece.fromIndex(index);
+    }
+
+    /**
+     * @return the {@link ChessPiece#index} of the piece on the square, or -1 if it is empty
+     */
+    public int getPieceIndex(int square) {
+        long bit = Bitboards.bit(square);
+        if ((occupied & bit) == 0) {
+            return -1;
+        }
+        int base = (colors[0] & bit) != 0 ? 0 : 6;
+        for (int i = base; i < base + 6; i++) {
+            if ((pieces[i] & bit) != 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public long getPieces(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return pieces[ChessPiece.index(color, type)];
+    }
+
+    public long getPieces(int index) {
+        return pieces[index];
+    }
+
+    public long getOccupancy(ChessGame.TeamColor color) {
+        return colors[color.ordinal()];
+    }
+
+    public long getOccupied() {
+        return occupied;
+    }
+
+    /**
+     * @return the Zobrist key of the piece placement, kept current by XOR on every add/remove
+     */
+    public long getPieceKey() {
+        return pieceKey;
+    }
+
+    /**
+     * @return the {@link Material} signature of the pieces on the board, kept
+     * current on every add/remove
+     */
+    public long getMaterialSignature() {
+        return material;
+    }
+
+    /**
+     * @return whether neither side has enough material left to mate, see
+     * {@link Material#isInsufficient}
+     */
+    public boolean hasInsufficientMaterial() {
+        long bishops = pieces[ChessPiece.index(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP)]
+                | pieces[ChessPiece.index(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP)];
+        return Material.isInsufficient(material, bishops);
+    }
+
+    /**
+     * Static evaluation from the {@link PieceSquareTables}, tapered between the
+     * midgame and endgame scores by the material left. Both scores and the
+     * phase are kept current on every add/remove, so this is constant time.
+     *
+     * @return the score in centipawns from white's point of view
+     */
+    public int getEvaluation() {
+        return PieceSquareTables.taper(midgame, endgame, phase);
+    }
+
+    public int getMidgameScore() {
+        return midgame;
+    }
+
+    public int getEndgameScore() {
+        return endgame;
+    }
+
+    /**
+     * @return the game phase, from {@link PieceSquareTables#MAX_PHASE} with all
+     * pieces on the board down to 0 with only kings and pawns
+     */
+    public int getPhase() {
+        return phase;
+    }
+
+    /**
+     * The king bitboard is updated with every add/remove, so finding the king
+     * is a single bit scan rather than a board walk.
+     *
+     * @return the square of the team's king, or -1 if it has none
+     */
+    public int getKingSquare(ChessGame.TeamColor color) {
+        long king = pieces[ChessPiece.index(color, ChessPiece.PieceType.KING)];
+        return king == 0 ? -1 : Long.numberOfTrailingZeros(king);
+    }
+
+    /**
+     * Looks outward from the square along pawn, knight, king and slider
+     * patterns for pieces of the attacking team, using the given occupancy
+     * for slider blocking.
+     *
+     * @return a mask of the attacker's pieces that attack the square
+     */
+    public long attackersTo(int square, ChessGame.TeamColor attacker, long occupancy) {
+        int base = attacker.ordinal() * 6;
+        ChessGame.TeamColor defender = attacker == ChessGame.TeamColor.WHITE
+                ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+        long queens = pieces[base + ChessPiece.PieceType.QUEEN.ordinal()];
+        return (Attacks.pawn(defender, square) & pieces[base + ChessPiece.PieceType.PAWN.ordinal()])
+                | (Attacks.knight(square) & pieces[base + ChessPiece.PieceType.KNIGHT.ordinal()])
+                | (Attacks.king(square) & pieces[base + ChessPiece.PieceType.KING.ordinal()])
+                | (Attacks.bishop(square, occupancy) & (pieces[base + ChessPiece.PieceType.BISHOP.ordinal()] | queens))
+                | (Attacks.rook(square, occupancy) & (pieces[base + ChessPiece.PieceType.ROOK.ordinal()] | queens));
+    }
+
+    public boolean isSquareAttacked(int square, ChessGame.TeamColor attacker) {
+        return attackersTo(square, attacker, occupied) != 0;
+    }
+
+    public boolean isEmpty(int square) {
+        return (occupied & Bitboards.bit(square)) == 0;
+    }
+
+    void setSquare(int square, int index) {
+        long bit = Bitboards.bit(square);
+        pieces[index] |= bit;
+        colors[index / 6] |= bit;
+        occupied |= bit;
+        pieceKey ^= Zobrist.piece(index, square);
+        material += Material.unit(index);
+        midgame += PieceSquareTables.midgame(index, square);
+        endgame += PieceSquareTables.endgame(index, square);
+        phase += PieceSquareTables.phase(index);
+    }
+
+    void clearSquare(int square) {
+        int index = getPieceIndex(square);
+        if (index < 0) {
+            return;
+        }
+        long mask = ~Bitboards.bit(square);
+        pieces[index] &= mask;
+        colors[index / 6] &= mask;
+        occupied &= mask;
+        pieceKey ^= Zobrist.piece(index, square);
+        material -= Material.unit(index);
+        midgame -= PieceSquareTables.midgame(index, square);
+        endgame -= PieceSquareTables.endgame(index, square);
+        phase -= PieceSquareTables.phase(index);
     }
 
     public void resetBoard() {
-        board = new ChessPiece[8][8];
+        Arrays.fill(pieces, 0L);
+        Arrays.fill(colors, 0L);
+        occupied = 0L;
+        pieceKey = 0L;
+        material = 0L;
+        midgame = 0;
+        endgame = 0;
+        phase = 0;
         for (int col = 1; col <= 8; col++) {
-            addPiece(new ChessPosition(2, col), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
-            addPiece(new ChessPosition(7, col), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+            addPiece(ChessPosition.of(2, col), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+            addPiece(ChessPosition.of(7, col), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
         }
 
         ChessPiece.PieceType[] order = {
@@ -34,25 +233,126 @@ public class ChessBoard {
         };
 
         for (int col = 1; col <= 8; col++) {
-            addPiece(new ChessPosition(1, col), new ChessPiece(ChessGame.TeamColor.WHITE, order[col - 1]));
-            addPiece(new ChessPosition(8, col), new ChessPiece(ChessGame.TeamColor.BLACK, order[col - 1]));
+            addPiece(ChessPosition.of(1, col), ChessPiece.of(ChessGame.TeamColor.WHITE, order[col - 1]));
+            addPiece(ChessPosition.of(8, col), ChessPiece.of(ChessGame.TeamColor.BLACK, order[col - 1]));
         }
     }
 
     @Override
     public String toString() {
-        return "ChessBoard{" +
-                "board=" + Arrays.toString(board) +
-                '}';
+        StringBuilder sb = new StringBuilder();
+        for (int row = 8; row >= 1; row--) {
+            sb.append('|');
+            for (int col = 1; col <= 8; col++) {
+                int index = getPieceIndex(Bitboards.square(row, col));
+                sb.append(index < 0 ? ' ' : "KQBNRPkqbnrp".charAt(index)).append('|');
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
     }
 
     @Override
     public boolean equals(Object o) {
-        return this == o || (o instanceof ChessBoard cb && Arrays.deepEquals(board, cb.board));
+        return this == o || (o instanceof ChessBoard cb
+                && pieceKey == cb.pieceKey
+                && Arrays.equals(pieces, cb.pieces));
     }
 
     @Override
     public int hashCode() {
-        return Arrays.deepHashCode(board);
+        return Long.hashCode(pieceKey);
+    }
+
+    /**
+     * Keeps the {"board":[[..]]} JSON shape, eight rows of eight pieces or
+     * nulls from a1, and writes the placement only. Masks, keys and scores
+     * are rebuilt piece by piece on read rather than trusted from the text.
+     */
+    static class Adapter extends TypeAdapter<ChessBoard> {
+        @Override
+        public void write(JsonWriter out, ChessBoard board) throws IOException {
+            if (board == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject().name("board").beginArray();
+            for (int row = 1; row <= 8; row++) {
+                out.beginArray();
+                for (int col = 1; col <= 8; col++) {
+                    int index = board.getPieceIndex(Bitboards.square(row, col));
+                    if (index < 0) {
+                        out.nullValue();
+                    } else {
+                        ChessPiece piece = ChessPiece.fromIndex(index);
+                        out.beginObject()
+                                .name("color").value(piece.getTeamColor().name())
+                                .name("type").value(piece.getPieceType().name())
+                                .endObject();
+                    }
+                }
+                out.endArray();
+            }
+            out.endArray().endObject();
+        }
+
+        @Override
+        public ChessBoard read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            ChessBoard board = new ChessBoard();
+            in.beginObject();
+            while (in.hasNext()) {
+                if (in.nextName().equals("board")) {
+                    readRows(in, board);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return board;
+        }
+
+        private static void readRows(JsonReader in, ChessBoard board) throws IOException {
+            in.beginArray();
+            for (int row = 1; in.hasNext(); row++) {
+                in.beginArray();
+                for (int col = 1; in.hasNext(); col++) {
+                    ChessPiece piece = readPiece(in);
+                    if (piece != null) {
+                        if (!Bitboards.isOnBoard(row, col)) {
+                            throw new IOException("Piece off the board at row " + row + ", column " + col);
+                        }
+                        board.addPiece(ChessPosition.of(row, col), piece);
+                    }
+                }
+                in.endArray();
+            }
+            in.endArray();
+        }
+
+        private static ChessPiece readPiece(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            ChessGame.TeamColor color = null;
+            ChessPiece.PieceType type = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "color" -> color = ChessGame.TeamColor.valueOf(in.nextString());
+                    case "type" -> type = ChessPiece.PieceType.valueOf(in.nextString());
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            if (color == null || type == null) {
+                throw new IOException("Piece needs a color and a type");
+            }
+            return ChessPiece.of(color, type);
+        }
     }
-}
\ No newline at end of file
+}
@@ -3,24 +3,109 @@ package chess;
 import java.util.*;
 
 public class ChessGame {
+    public static final int WHITE_KINGSIDE = 1;
+    public static final int WHITE_QUEENSIDE = 2;
+    public static final int BLACK_KINGSIDE = 4;
+    public static final int BLACK_QUEENSIDE = 8;
+
     private TeamColor turn;
     private ChessBoard board;
     private ChessMove lastMove;
-    private Set<ChessPosition> hasMoved = new HashSet<>();  // Removed 'final' keyword
+    private int castlingRights;
+    private int epSquare = -1;
+
+    private int halfmoveClock;
+
+    /*
+     * Position keys of the positions left by each move, indexed by ply modulo
+     * the ring size. Only positions since the last pawn move or capture can
+     * repeat, and the fifty-move rule ends the game before that span outgrows
+     * the ring, so repetition checks scan back at most halfmoveClock entries.
+     * The history stays out of JSON, so a game read back from JSON starts a
+     * fresh one from its current position; GameCodec stores it for games
+     * that are saved.
+     */
+    private static final int HISTORY_SIZE = 128;
+    private transient long[] keyHistory = new long[HISTORY_SIZE];
+    private transient int historyPly;
+    // Plies played before the history began, for games set up mid-game
+    private transient int startPly;
 
     private boolean gameOver = false;
     private TeamColor winner = null;
 
+    /*
+     * Undo records for makeMoveUnchecked/unmakeMove, one packed long per ply:
+     * from and to squares, moved and captured piece indexes (+1, so 0 means
+     * none), the captured piece's square, a castling flag, and the previous
+     * halfmove clock, castling rights and en passant square (+1). The lastMove
+     * that was replaced rides alongside.
+     */
+    private static final int UNDO_INITIAL_DEPTH = 64;
+    private static final int FROM_SHIFT = 0;
+    private static final int TO_SHIFT = 6;
+    private static final int CAPTURE_SQUARE_SHIFT = 12;
+    private static final int MOVED_SHIFT = 18;
+    private static final int CAPTURED_SHIFT = 22;
+    private static final int CLOCK_SHIFT = 32;
+    private static final int RIGHTS_SHIFT = 48;
+    private static final int EP_SHIFT = 52;
+    private static final long CASTLE_FLAG = 1L << 26;
+
+    /*
+     * Castling rights kept after a move touches each square: moving from or
+     * capturing on a king or rook home square clears the rights tied to it.
+     */
+    private static final int[] CASTLING_MASK = new int[64];
+
+    // FEN piece letters by ChessPiece.index
+    private static final String FEN_PIECES = "KQBNRPkqbnrp";
+
+    static {
+        Arrays.fill(CASTLING_MASK, 15);
+        CASTLING_MASK[Bitboards.square(1, 1)] &= ~WHITE_QUEENSIDE;
+        CASTLING_MASK[Bitboards.square(1, 8)] &= ~WHITE_KINGSIDE;
+        CASTLING_MASK[Bitboards.square(1, 5)] &= ~(WHITE_KINGSIDE | WHITE_QUEENSIDE);
+        CASTLING_MASK[Bitboards.square(8, 1)] &= ~BLACK_QUEENSIDE;
+        CASTLING_MASK[Bitboards.square(8, 8)] &= ~BLACK_KINGSIDE;
+        CASTLING_MASK[Bitboards.square(8, 5)] &= ~(BLACK_KINGSIDE | BLACK_QUEENSIDE);
+    }
+
+    private transient long[] undoStack = new long[UNDO_INITIAL_DEPTH];
+    private transient ChessMove[] undoLastMoves = new ChessMove[UNDO_INITIAL_DEPTH];
+    private transient int undoCount;
+    private transient int[] scratchMoves;
+
     public ChessGame() {
         this.turn = TeamColor.WHITE;  // Always start with WHITE's turn
         this.board = new ChessBoard();
         this.board.resetBoard();
         this.lastMove = null;
-        this.hasMoved = new HashSet<>();  // Initialize hasMoved set
+        this.castlingRights = WHITE_KINGSIDE | WHITE_QUEENSIDE | BLACK_KINGSIDE | BLACK_QUEENSIDE;
+        this.epSquare = -1;
+        this.halfmoveClock = 0;
         this.gameOver = false;  // Ensure game starts as active
         this.winner = null;     // No winner at start
     }
 
+    /**
+     * Creates an independent copy of another game's state, e.g. so a search
+     * or benchmark can play moves without touching the original.
+     */
+    public ChessGame(ChessGame other) {
+        this.turn = other.turn;
+        this.board = new ChessBoard(other.board);
+        this.lastMove = other.lastMove;
+        this.castlingRights = other.castlingRights;
+        this.epSquare = other.epSquare;
+        this.halfmoveClock = other.halfmoveClock;
+        this.keyHistory = other.keyHistory.clone();
+        this.historyPly = other.historyPly;
+        this.startPly = other.startPly;
+        this.gameOver = other.gameOver;
+        this.winner = other.winner;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -34,13 +119,309 @@ public class ChessGame {
 
     @Override
     public int hashCode() {
-        return Objects.hash(turn, board);
+        long key = board.getPieceKey() ^ (turn == TeamColor.BLACK ? Zobrist.blackToMove() : 0L);
+        return Long.hashCode(key);
+    }
+
+    /**
+     * Sets up a game from a position in Forsyth-Edwards Notation, e.g.
+     * {@code rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1}.
+     * The halfmove clock and fullmove number may be left off. The text is read
+     * in place, one character at a time, without splitting or copying it.
+     *
+     * @throws IllegalArgumentException if the text is not a valid position
+     */
+    public static ChessGame fromFen(CharSequence fen) {
+        FenReader reader = new FenReader(fen);
+        ChessBoard board = new ChessBoard();
+        int row = 8;
+        int col = 1;
+        boolean afterDigit = false;
+        for (char c = reader.next(); c != ' '; c = reader.next()) {
+            boolean digit = c >= '1' && c <= '8';
+            if (digit && afterDigit) {
+                throw reader.error("empty squares on rank " + row + " must be one digit");
+            }
+            afterDigit = digit;
+            if (c == '/') {
+                if (col != 9 || row == 1) {
+                    throw reader.error("rank " + row + " does not have 8 squares");
+                }
+                row--;
+                col = 1;
+            } else if (digit) {
+                col += c - '0';
+                if (col > 9) {
+                    throw reader.error("rank " + row + " has more than 8 squares");
+                }
+            } else {
+                int index = FEN_PIECES.indexOf(c);
+                if (index < 0 || col > 8) {
+                    throw reader.error(index < 0 ? "unknown piece '" + c + "'" : "rank " + row + " has more than 8 squares");
+                }
+                board.addPiece(ChessPosition.of(row, col), ChessPiece.fromIndex(index));
+                col++;
+            }
+        }
+        if (row != 1 || col != 9) {
+            throw reader.error("the board does not have 8 full ranks");
+        }
+        if (Long.bitCount(board.getPieces(TeamColor.WHITE, ChessPiece.PieceType.KING)) != 1
+                || Long.bitCount(board.getPieces(TeamColor.BLACK, ChessPiece.PieceType.KING)) != 1) {
+            throw reader.error("each side needs exactly one king");
+        }
+
+        ChessGame game = new ChessGame();
+        game.setBoard(board);
+        char side = reader.next();
+        if (side != 'w' && side != 'b') {
+            throw reader.error("side to move must be 'w' or 'b'");
+        }
+        game.turn = side == 'w' ? TeamColor.WHITE : TeamColor.BLACK;
+        reader.expect(' ');
+
+        int rights = 0;
+        char c = reader.next();
+        if (c == '-') {
+            reader.expect(' ');
+        } else {
+            for (; c != ' '; c = reader.next()) {
+                rights |= switch (c) {
+                    case 'K' -> WHITE_KINGSIDE;
+                    case 'Q' -> WHITE_QUEENSIDE;
+                    case 'k' -> BLACK_KINGSIDE;
+                    case 'q' -> BLACK_QUEENSIDE;
+                    default -> throw reader.error("unknown castling right '" + c + "'");
+                };
+            }
+        }
+        game.castlingRights = rights & game.placementRights();
+
+        c = reader.next();
+        if (c != '-') {
+            char rank = reader.next();
+            if (c < 'a' || c > 'h' || rank != (game.turn == TeamColor.WHITE ? '6' : '3')) {
+                throw reader.error("invalid en passant square");
+            }
+            game.epSquare = Bitboards.square(rank - '0', c - 'a' + 1);
+        }
+
+        int fullmove = 1;
+        if (reader.hasNext()) {
+            reader.expect(' ');
+            game.halfmoveClock = reader.number();
+            if (reader.hasNext()) {
+                reader.expect(' ');
+                fullmove = reader.number();
+            }
+        }
+        if (reader.hasNext()) {
+            throw reader.error("unexpected text after the position");
+        }
+        game.setFullmoveNumber(fullmove);
+        return game;
+    }
+
+    /**
+     * @return the position in Forsyth-Edwards Notation, readable by {@link #fromFen}
+     */
+    public String toFen() {
+        StringBuilder fen = new StringBuilder(90);
+        for (int row = 8; row >= 1; row--) {
+            int empty = 0;
+            for (int col = 1; col <= 8; col++) {
+                int index = board.getPieceIndex(Bitboards.square(row, col));
+                if (index < 0) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    fen.append((char) ('0' + empty));
+                    empty = 0;
+                }
+                fen.append(FEN_PIECES.charAt(index));
+            }
+            if (empty > 0) {
+                fen.append((char) ('0' + empty));
+            }
+            if (row > 1) {
+                fen.append('/');
+            }
+        }
+
+        fen.append(turn == TeamColor.WHITE ? " w " : " b ");
+        int rights = getCastlingRights();
+        if (rights == 0) {
+            fen.append('-');
+        } else {
+            appendIf(fen, rights, WHITE_KINGSIDE, 'K');
+            appendIf(fen, rights, WHITE_QUEENSIDE, 'Q');
+            appendIf(fen, rights, BLACK_KINGSIDE, 'k');
+            appendIf(fen, rights, BLACK_QUEENSIDE, 'q');
+        }
+        fen.append(' ');
+        if (epSquare < 0) {
+            fen.append('-');
+        } else {
+            fen.append((char) ('a' + Bitboards.column(epSquare) - 1)).append((char) ('0' + Bitboards.row(epSquare)));
+        }
+        return fen.append(' ').append(halfmoveClock).append(' ').append(getFullmoveNumber()).toString();
+    }
+
+    private static void appendIf(StringBuilder fen, int rights, int right, char letter) {
+        if ((rights & right) != 0) {
+            fen.append(letter);
+        }
+    }
+
+    /**
+     * Reads a FEN string in place and reports errors with their position.
+     */
+    private static final class FenReader {
+        private final CharSequence text;
+        private int position;
+
+        FenReader(CharSequence text) {
+            this.text = text;
+        }
+
+        boolean hasNext() {
+            return position < text.length();
+        }
+
+        char next() {
+            if (!hasNext()) {
+                throw error("the position ends too early");
+            }
+            return text.charAt(position++);
+        }
+
+        void expect(char expected) {
+            if (next() != expected) {
+                throw error("expected '" + expected + "'");
+            }
+        }
+
+        int number() {
+            int start = position;
+            int value = 0;
+            while (hasNext() && text.charAt(position) >= '0' && text.charAt(position) <= '9') {
+                value = value * 10 + (text.charAt(position++) - '0');
+                if (value > 100_000) {
+                    throw error("number out of range");
+                }
+            }
+            if (position == start) {
+                throw error("expected a number");
+            }
+            return value;
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Invalid FEN at column " + position + ": " + message);
+        }
+    }
+
+    /**
+     * Zobrist key of the full position: piece placement, side to move,
+     * castling rights and en passant file. Two positions with the same key are
+     * the same position for repetition and caching purposes.
+     */
+    public long getPositionKey() {
+        long key = board.getPieceKey() ^ Zobrist.castling(getCastlingRights());
+        if (turn == TeamColor.BLACK) {
+            key ^= Zobrist.blackToMove();
+        }
+        int epColumn = enPassantColumn();
+        if (epColumn > 0) {
+            key ^= Zobrist.enPassant(epColumn);
+        }
+        return key;
+    }
+
+    /**
+     * The stored rights are only cleared by moves, so they are also masked by
+     * the current placement in case the board was edited directly.
+     *
+     * @return a mask of {@link #WHITE_KINGSIDE}, {@link #WHITE_QUEENSIDE},
+     * {@link #BLACK_KINGSIDE} and {@link #BLACK_QUEENSIDE} for the sides that
+     * may still castle
+     */
+    public int getCastlingRights() {
+        return castlingRights & placementRights();
+    }
+
+    public void setCastlingRights(int castlingRights) {
+        this.castlingRights = castlingRights & 15;
+    }
+
+    /**
+     * @return the rights the piece placement allows, i.e. for each king and
+     * rook still standing on its home square
+     */
+    private int placementRights() {
+        return placementRights(TeamColor.WHITE, 1, WHITE_KINGSIDE, WHITE_QUEENSIDE)
+                | placementRights(TeamColor.BLACK, 8, BLACK_KINGSIDE, BLACK_QUEENSIDE);
+    }
+
+    private int placementRights(TeamColor team, int row, int kingside, int queenside) {
+        if ((board.getPieces(team, ChessPiece.PieceType.KING) & Bitboards.bit(Bitboards.square(row, 5))) == 0) {
+            return 0;
+        }
+        long rooks = board.getPieces(team, ChessPiece.PieceType.ROOK);
+        int rights = 0;
+        if ((rooks & Bitboards.bit(Bitboards.square(row, 8))) != 0) {
+            rights |= kingside;
+        }
+        if ((rooks & Bitboards.bit(Bitboards.square(row, 1))) != 0) {
+            rights |= queenside;
+        }
+        return rights;
+    }
+
+    /**
+     * @return the square a pawn skipped over with a double step on the last
+     * move, or null if the last move was not a double step
+     */
+    public ChessPosition getEnPassantSquare() {
+        return epSquare < 0 ? null : ChessPosition.of(epSquare);
+    }
+
+    public void setEnPassantSquare(ChessPosition square) {
+        this.epSquare = square == null ? -1 : Bitboards.square(square);
+    }
+
+    /**
+     * @return the file (1..8) of the en passant square if a pawn of the side
+     * to move can capture onto it, or 0 if there is none
+     */
+    private int enPassantColumn() {
+        if (epSquare < 0) {
+            return 0;
+        }
+        long capturers = Attacks.pawn(opponent(turn), epSquare) & board.getPieces(turn, ChessPiece.PieceType.PAWN);
+        return capturers != 0 ? Bitboards.column(epSquare) : 0;
     }
 
     public enum TeamColor {
         WHITE, BLACK
     }
 
+    /**
+     * Outcome of a position for the side to move, see {@link #getStatus}.
+     */
+    public enum GameStatus {
+        ONGOING, CHECK, CHECKMATE, STALEMATE, DRAW_REPETITION, DRAW_FIFTY_MOVES, DRAW_INSUFFICIENT_MATERIAL;
+
+        public boolean isOver() {
+            return this != ONGOING && this != CHECK;
+        }
+
+        public boolean isDraw() {
+            return isOver() && this != CHECKMATE;
+        }
+    }
+
     public TeamColor getTeamTurn() {
         return this.turn;
     }
@@ -57,13 +438,82 @@ public class ChessGame {
         this.lastMove = lastMove;
     }
 
-    // Add getter and setter for hasMoved to make it JSON-friendly
-    public Set<ChessPosition> getHasMoved() {
-        return new HashSet<>(hasMoved);
+    /**
+     * @return the number of half-moves since the last pawn move or capture
+     */
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    public void setHalfmoveClock(int halfmoveClock) {
+        this.halfmoveClock = halfmoveClock;
+    }
+
+    /**
+     * @return the keys of the earlier positions the current one could still
+     * repeat, oldest first
+     */
+    long[] getRepetitionHistory() {
+        int span = Math.min(Math.min(halfmoveClock, historyPly), HISTORY_SIZE);
+        long[] keys = new long[span];
+        for (int i = 0; i < span; i++) {
+            keys[i] = keyHistory[(historyPly - span + i) & (HISTORY_SIZE - 1)];
+        }
+        return keys;
+    }
+
+    /**
+     * Replaces the position history, e.g. when a game is restored. The
+     * fullmove number counts from the history, so set it afterwards.
+     */
+    void setRepetitionHistory(long[] keys) {
+        int count = Math.min(keys.length, HISTORY_SIZE);
+        keyHistory = new long[HISTORY_SIZE];
+        System.arraycopy(keys, keys.length - count, keyHistory, 0, count);
+        historyPly = count;
     }
 
-    public void setHasMoved(Set<ChessPosition> hasMoved) {
-        this.hasMoved = hasMoved != null ? new HashSet<>(hasMoved) : new HashSet<>();
+    /**
+     * The count lives with the position history, which is left out of JSON,
+     * so a game read back from JSON (such as a LOAD_GAME message) counts
+     * from 1 again. FEN and {@link GameCodec} keep it.
+     *
+     * @return the number of the current full move, starting at 1 and
+     * increasing after each black move
+     */
+    public int getFullmoveNumber() {
+        return 1 + (startPly + historyPly) / 2;
+    }
+
+    public void setFullmoveNumber(int fullmoveNumber) {
+        this.startPly = 2 * (Math.max(fullmoveNumber, 1) - 1) + (turn == TeamColor.BLACK ? 1 : 0) - historyPly;
+    }
+
+    /**
+     * @return how many times the current position has occurred, counting this
+     * occurrence, since the last pawn move or capture
+     */
+    public int getRepetitionCount() {
+        long key = getPositionKey();
+        int span = Math.min(Math.min(halfmoveClock, historyPly), HISTORY_SIZE);
+        int count = 1;
+        for (int back = 2; back <= span; back += 2) {
+            if (keyHistory[(historyPly - back) & (HISTORY_SIZE - 1)] == key) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public boolean isThreefoldRepetition() {
+        return getRepetitionCount() >= 3;
+    }
+
+    /**
+     * @return whether a hundred half-moves have passed without a pawn move or capture
+     */
+    public boolean isFiftyMoveDraw() {
+        return halfmoveClock >= 100;
     }
 
     public boolean isGameOver() {
@@ -91,176 +541,254 @@ public class ChessGame {
     }
 
     public Collection<ChessMove> validMoves(ChessPosition startPosition) {
-        Collection<ChessMove> allMoves = new HashSet<>();
-        ChessPiece currentPiece = board.getPiece(startPosition);
-        if (currentPiece == null) {
-            return allMoves;
+        Collection<ChessMove> onlyValid = new HashSet<>();
+        int square = Bitboards.square(startPosition);
+        int index = board.getPieceIndex(square);
+        if (index < 0) {
+            return onlyValid;
         }
 
-        allMoves = currentPiece.pieceMoves(board, startPosition);
-        addEnPassantMoves(currentPiece, startPosition, allMoves);
-
-        Collection<ChessMove> onlyValid = filterLegalMoves(allMoves, currentPiece);
-        addCastlingMoves(currentPiece, startPosition, onlyValid);
-
+        TeamColor team = ChessPiece.fromIndex(index).getTeamColor();
+        int king = board.getKingSquare(team);
+        int[] moves = scratchMoves();
+        int count = king < 0
+                ? generatePieceMoves(square, moves, 0)
+                : generateLegalPieceMoves(square, team, king, checkers(team, king), pinnedPieces(team, king), moves, 0);
+        for (int i = 0; i < count; i++) {
+            onlyValid.add(Move.toChessMove(moves[i]));
+        }
         return onlyValid;
     }
 
-    private void addEnPassantMoves(ChessPiece currentPiece,
-                                   ChessPosition startPosition,
-                                   Collection<ChessMove> allMoves) {
-        if (currentPiece.getPieceType() != ChessPiece.PieceType.PAWN || lastMove == null) {
-            return;
+    /**
+     * Works for either team, whether or not it is its turn, but only the side
+     * to move gets en passant captures: the en passant square belongs to the
+     * reply to the move just played.
+     *
+     * @return every legal move for the team
+     */
+    public Collection<ChessMove> legalMoves(TeamColor team) {
+        int[] moves = scratchMoves();
+        int count = legalMoves(team, moves);
+        Collection<ChessMove> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(Move.toChessMove(moves[i]));
         }
+        return result;
+    }
 
-        ChessPiece lastMoved = board.getPiece(lastMove.getEndPosition());
-        if (lastMoved == null
-                || lastMoved.getPieceType() != ChessPiece.PieceType.PAWN
-                || lastMoved.getTeamColor() == currentPiece.getTeamColor()) {
-            return;
+    /**
+     * Generates all of the team's legal moves in one pass. Checkers and pinned
+     * pieces are found up front, so in check only evasions survive and pinned
+     * pieces keep only moves along their pin ray, with no move simulated except
+     * en passant, whose double removal from one rank is checked by make/unmake.
+     * As with {@link #legalMoves(TeamColor)}, en passant is only generated
+     * for the side to move.
+     *
+     * @return the number of packed {@link Move}s written to the buffer
+     */
+    public int legalMoves(TeamColor team, int[] moves) {
+        int king = board.getKingSquare(team);
+        long checkers = king < 0 ? 0L : checkers(team, king);
+        long pinned = king < 0 ? 0L : pinnedPieces(team, king);
+        int count = 0;
+        long own = board.getOccupancy(team);
+        while (own != 0) {
+            int square = Long.numberOfTrailingZeros(own);
+            own &= own - 1;
+            count = king < 0
+                    ? generatePieceMoves(square, moves, count)
+                    : generateLegalPieceMoves(square, team, king, checkers, pinned, moves, count);
         }
+        return count;
+    }
 
-        int lastStart = lastMove.getStartPosition().getRow();
-        int lastEnd   = lastMove.getEndPosition().getRow();
-        int lastCol   = lastMove.getEndPosition().getColumn();
-        int currRow   = startPosition.getRow();
-        int currCol   = startPosition.getColumn();
-
-        if (Math.abs(lastEnd - lastStart) == 2
-                && lastEnd == currRow
-                && Math.abs(lastCol - currCol) == 1) {
+    private long checkers(TeamColor team, int king) {
+        return board.attackersTo(king, opponent(team), board.getOccupied());
+    }
 
-            int dir = (currentPiece.getTeamColor() == TeamColor.WHITE) ? 1 : -1;
-            ChessPosition cap = new ChessPosition(currRow + dir, lastCol);
-            if (board.getPiece(cap) == null) {
-                allMoves.add(new ChessMove(startPosition, cap, null));
+    /**
+     * A piece is pinned when it is the only piece between its king and an enemy
+     * slider that moves along that line.
+     */
+    private long pinnedPieces(TeamColor team, int king) {
+        TeamColor enemy = opponent(team);
+        long occupied = board.getOccupied();
+        long queens = board.getPieces(enemy, ChessPiece.PieceType.QUEEN);
+        long snipers = (Attacks.rook(king, 0L) & (board.getPieces(enemy, ChessPiece.PieceType.ROOK) | queens))
+                | (Attacks.bishop(king, 0L) & (board.getPieces(enemy, ChessPiece.PieceType.BISHOP) | queens));
+        long pinned = 0L;
+        while (snipers != 0) {
+            int sniper = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            long blockers = Attacks.between(king, sniper) & occupied;
+            if (blockers != 0 && (blockers & (blockers - 1)) == 0) {
+                pinned |= blockers & board.getOccupancy(team);
             }
         }
+        return pinned;
     }
 
-    private Collection<ChessMove> filterLegalMoves(Collection<ChessMove> allMoves,
-                                                   ChessPiece currentPiece) {
-        Collection<ChessMove> onlyValid = new HashSet<>();
-
-        for (ChessMove move : allMoves) {
-            ChessPiece orig = board.getPiece(move.getStartPosition());
-            ChessPiece target = board.getPiece(move.getEndPosition());
-            ChessPiece simPiece = (move.getPromotionPiece() != null)
-                    ? new ChessPiece(orig.getTeamColor(), move.getPromotionPiece())
-                    : orig;
-
-            board.addPiece(move.getEndPosition(), simPiece);
-            board.removePiece(move.getStartPosition());
-
-            if (orig.getPieceType() == ChessPiece.PieceType.PAWN
-                    && move.getStartPosition().getColumn()
-                    != move.getEndPosition().getColumn()
-                    && target == null) {
-                int dir = (orig.getTeamColor() == TeamColor.WHITE) ? -1 : 1;
-                ChessPosition vic = new ChessPosition(
-                        move.getEndPosition().getRow() + dir,
-                        move.getEndPosition().getColumn()
-                );
-                board.removePiece(vic);
-            }
+    private int generateLegalPieceMoves(int square, TeamColor team, int king, long checkers, long pinned,
+                                        int[] moves, int count) {
+        return generateLegalPieceMoves(square, team, king, checkers, pinned, -1L, moves, count);
+    }
 
-            if (!isInCheck(simPiece.getTeamColor())) {
-                onlyValid.add(move);
+    /**
+     * Like the above, but only keeps non-king moves onto {@code targets}. En
+     * passant counts as a capture, so it is only added when the targets
+     * include enemy pieces.
+     */
+    private int generateLegalPieceMoves(int square, TeamColor team, int king, long checkers, long pinned,
+                                        long targets, int[] moves, int count) {
+        ChessPiece piece = ChessPiece.fromIndex(board.getPieceIndex(square));
+        int end = piece.pieceMoves(board, square, moves, count);
+        int kept = count;
+
+        if (piece.getPieceType() == ChessPiece.PieceType.KING) {
+            // The king may not step onto an attacked square, including one it currently shields
+            long occupancy = board.getOccupied() & ~Bitboards.bit(square);
+            TeamColor enemy = opponent(team);
+            for (int i = count; i < end; i++) {
+                if (board.attackersTo(Move.to(moves[i]), enemy, occupancy) == 0) {
+                    moves[kept++] = moves[i];
+                }
             }
+            return addCastlingMoves(piece, square, moves, kept);
+        }
 
-            board.addPiece(move.getStartPosition(), orig);
-            board.addPiece(move.getEndPosition(), target);
-
-            if (orig.getPieceType() == ChessPiece.PieceType.PAWN
-                    && move.getStartPosition().getColumn()
-                    != move.getEndPosition().getColumn()
-                    && target == null) {
-                int dir = (orig.getTeamColor() == TeamColor.WHITE) ? -1 : 1;
-                ChessPosition vic = new ChessPosition(
-                        move.getEndPosition().getRow() + dir,
-                        move.getEndPosition().getColumn()
-                );
-                board.addPiece(
-                        vic,
-                        new ChessPiece(
-                                this.turn == TeamColor.WHITE ? TeamColor.BLACK : TeamColor.WHITE,
-                                ChessPiece.PieceType.PAWN
-                        )
-                );
+        if (Long.bitCount(checkers) > 1) {
+            return count;
+        }
+        long allowed = targets;
+        if (checkers != 0) {
+            allowed &= checkers | Attacks.between(king, Long.numberOfTrailingZeros(checkers));
+        }
+        if ((pinned & Bitboards.bit(square)) != 0) {
+            allowed &= Attacks.line(king, square);
+        }
+        for (int i = count; i < end; i++) {
+            if ((allowed & Bitboards.bit(Move.to(moves[i]))) != 0) {
+                moves[kept++] = moves[i];
             }
         }
-
-        return onlyValid;
+        boolean captures = (targets & board.getOccupancy(opponent(team))) != 0;
+        int withEnPassant = captures ? addEnPassantMoves(piece, square, moves, kept) : kept;
+        return filterLegalMoves(team, moves, kept, withEnPassant);
     }
 
-    private void addCastlingMoves(ChessPiece currentPiece,
-                                  ChessPosition startPosition,
-                                  Collection<ChessMove> onlyValid) {
-        if (currentPiece.getPieceType() != ChessPiece.PieceType.KING
-                || hasMoved.contains(startPosition)
-                || isInCheck(currentPiece.getTeamColor())) {
-            return;
+    /**
+     * Writes the pseudo-legal moves of every piece of the side to move into the
+     * buffer as packed {@link Move} ints, including en passant and castling.
+     * Castles are only generated when the king's path is safe; other moves may
+     * still leave the mover's king in check.
+     *
+     * @return the number of moves written
+     */
+    public int generateMoves(int[] moves) {
+        int count = 0;
+        long own = board.getOccupancy(turn);
+        while (own != 0) {
+            int square = Long.numberOfTrailingZeros(own);
+            own &= own - 1;
+            count = generatePieceMoves(square, moves, count);
         }
+        return count;
+    }
 
-        int row = startPosition.getRow();
-        TeamColor team = currentPiece.getTeamColor();
-
-        tryCastle(startPosition, row, new int[]{6, 7}, 8, team, onlyValid);
-        tryCastle(startPosition, row, new int[]{4, 3}, 1, team, onlyValid);
+    private int generatePieceMoves(int square, int[] moves, int count) {
+        ChessPiece piece = ChessPiece.fromIndex(board.getPieceIndex(square));
+        count = piece.pieceMoves(board, square, moves, count);
+        count = addEnPassantMoves(piece, square, moves, count);
+        return addCastlingMoves(piece, square, moves, count);
     }
 
-    private void tryCastle(ChessPosition start, int row,
-                           int[] pathCols, int rookCol,
-                           TeamColor team,
-                           Collection<ChessMove> out) {
-        ChessPosition rookPos = new ChessPosition(row, rookCol);
-        ChessPiece rook = board.getPiece(rookPos);
-        if (hasMoved.contains(rookPos)
-                || rook == null
-                || rook.getPieceType() != ChessPiece.PieceType.ROOK) {
-            return;
+    private int[] scratchMoves() {
+        if (scratchMoves == null) {
+            scratchMoves = new int[Move.MAX_MOVES];
         }
+        return scratchMoves;
+    }
 
-        for (int c : pathCols) {
-            if (board.getPiece(new ChessPosition(row, c)) != null) {
-                return;
-            }
+    private int addEnPassantMoves(ChessPiece currentPiece, int square, int[] moves, int count) {
+        if (currentPiece.getPieceType() != ChessPiece.PieceType.PAWN || epSquare < 0
+                || currentPiece.getTeamColor() != turn
+                || (Attacks.pawn(turn, square) & Bitboards.bit(epSquare)) == 0) {
+            return count;
         }
 
-        ChessPosition[] path = new ChessPosition[pathCols.length + 1];
-        path[0] = start;
-        for (int i = 0; i < pathCols.length; i++) {
-            path[i + 1] = new ChessPosition(row, pathCols[i]);
+        // The double-stepped pawn sits beside the capturing pawn, behind the target
+        int victim = Bitboards.square(Bitboards.row(square), Bitboards.column(epSquare));
+        if ((board.getPieces(opponent(turn), ChessPiece.PieceType.PAWN) & Bitboards.bit(victim)) != 0
+                && board.isEmpty(epSquare)) {
+            moves[count++] = Move.of(square, epSquare) | Move.CAPTURE | Move.EN_PASSANT;
         }
+        return count;
+    }
 
-        if (isPathSafe(team, path)) {
-            out.add(new ChessMove(start, path[path.length - 1], null));
+    /**
+     * Keeps only the moves in {@code moves[from..to)} that do not leave the
+     * team's king in check, compacting them to the front of that range.
+     *
+     * @return the index one past the last kept move
+     */
+    private int filterLegalMoves(TeamColor team, int[] moves, int from, int to) {
+        int kept = from;
+        for (int i = from; i < to; i++) {
+            int move = moves[i];
+            makeMoveUnchecked(move);
+            if (!isInCheck(team)) {
+                moves[kept++] = move;
+            }
+            unmakeMove();
         }
+        return kept;
     }
 
-    private boolean isPathSafe(TeamColor team, ChessPosition[] positions) {
-        ChessPiece saved = board.getPiece(positions[0]);
-        board.removePiece(positions[0]);
+    private int addCastlingMoves(ChessPiece currentPiece, int square, int[] moves, int count) {
+        if (currentPiece.getPieceType() != ChessPiece.PieceType.KING) {
+            return count;
+        }
 
-        boolean safe = true;
-        for (ChessPosition pos : positions) {
-            ChessPiece temp = board.getPiece(pos);
-            board.removePiece(pos);
-            board.addPiece(pos, new ChessPiece(team, ChessPiece.PieceType.KING));
-            if (isInCheck(team)) {
-                safe = false;
-            }
-            board.removePiece(pos);
-            if (temp != null) {
-                board.addPiece(pos, temp);
-            }
+        TeamColor team = currentPiece.getTeamColor();
+        int home = team == TeamColor.WHITE ? Bitboards.square(1, 5) : Bitboards.square(8, 5);
+        int rights = getCastlingRights()
+                & (team == TeamColor.WHITE ? WHITE_KINGSIDE | WHITE_QUEENSIDE : BLACK_KINGSIDE | BLACK_QUEENSIDE);
+        if (rights == 0 || square != home || isInCheck(team)) {
+            return count;
         }
 
-        board.addPiece(positions[0], saved);
-        return safe;
+        // Squares between king and rook must be empty; the king's path must be safe
+        if ((rights & (WHITE_KINGSIDE | BLACK_KINGSIDE)) != 0
+                && (board.getOccupied() & (3L << (square + 1))) == 0
+                && isPathSafe(team, square, square + 1, square + 2)) {
+            moves[count++] = Move.of(square, square + 2) | Move.CASTLE;
+        }
+        if ((rights & (WHITE_QUEENSIDE | BLACK_QUEENSIDE)) != 0
+                && (board.getOccupied() & (7L << (square - 3))) == 0
+                && isPathSafe(team, square, square - 1, square - 2)) {
+            moves[count++] = Move.of(square, square - 2) | Move.CASTLE;
+        }
+        return count;
+    }
+
+    /**
+     * The king may not pass through or land on an attacked square. The king
+     * itself is lifted off the occupancy so it cannot shield squares behind it.
+     */
+    private boolean isPathSafe(TeamColor team, int kingSquare, int passed, int landing) {
+        long occupancy = board.getOccupied() & ~Bitboards.bit(kingSquare);
+        TeamColor enemy = opponent(team);
+        return board.attackersTo(passed, enemy, occupancy) == 0
+                && board.attackersTo(landing, enemy, occupancy) == 0;
     }
 
-    public void makeMove(ChessMove move) throws InvalidMoveException {
+    /**
+     * Plays a legal move for the side to move and updates the game over state.
+     *
+     * @return a description of the move, including the opponent's resulting status
+     */
+    public MoveResult makeMove(ChessMove move) throws InvalidMoveException {
         if (isGameOver()) {
             throw new InvalidMoveException("Cannot move after game is over.");
         }
@@ -281,134 +809,344 @@ public class ChessGame {
             );
         }
 
-        Collection<ChessMove> possibleMoves = validMoves(move.getStartPosition());
-        if (!possibleMoves.contains(move)) {
-            throw new InvalidMoveException("Not a possible move for that piece");
+        int[] moves = scratchMoves();
+        int count = legalMoves(turn, moves);
+        int wanted = Move.fromChessMove(move);
+        int legal = Move.NONE;
+        for (int i = 0; i < count; i++) {
+            if (Move.sameMove(moves[i], wanted)) {
+                legal = moves[i];
+                break;
+            }
         }
-
-        ChessPiece newPiece = (move.getPromotionPiece() != null)
-                ? new ChessPiece(turn, move.getPromotionPiece())
-                : piece;
-
-        hasMoved.add(move.getStartPosition());
-
-        // Handle en passant capture
-        if (piece.getPieceType() == ChessPiece.PieceType.PAWN
-                && move.getStartPosition().getColumn()
-                != move.getEndPosition().getColumn()
-                && board.getPiece(move.getEndPosition()) == null) {
-            int dir = (turn == TeamColor.WHITE) ? -1 : 1;
-            ChessPosition vic = new ChessPosition(
-                    move.getEndPosition().getRow() + dir,
-                    move.getEndPosition().getColumn()
-            );
-            board.removePiece(vic);
+        if (legal == Move.NONE) {
+            throw new InvalidMoveException("Not a possible move for that piece");
         }
 
-        handleCastlingRook(move, piece);
-
-        board.addPiece(move.getEndPosition(), newPiece);
-        board.removePiece(move.getStartPosition());
-        this.lastMove = move;
+        boolean enPassant = Move.hasFlag(legal, Move.EN_PASSANT);
+        boolean castle = Move.hasFlag(legal, Move.CASTLE);
+        ChessPiece captured = enPassant ? ChessPiece.of(opponent(turn), ChessPiece.PieceType.PAWN) : dest;
+        String san = toSan(legal, piece, captured != null, moves, count);
 
-        // Switch turn
-        setTeamTurn(turn == TeamColor.WHITE ? TeamColor.BLACK : TeamColor.WHITE);
+        makeMoveUnchecked(legal);
+        undoCount--;
+        undoLastMoves[undoCount] = null;
 
         // Check for game over
-        TeamColor next = getTeamTurn();
-        if (isInCheckmate(next)) {
+        GameStatus status = getStatus(getTeamTurn());
+        if (status == GameStatus.CHECKMATE) {
             setGameOver(true);
             setWinner(turn);
-        } else if (isInStalemate(next)) {
+            san += "#";
+        } else if (status.isDraw()) {
             setGameOver(true);
             setWinner(null);
+        } else if (status == GameStatus.CHECK) {
+            san += "+";
         }
+        return new MoveResult(lastMove, piece, captured, Move.promotion(legal), castle, enPassant, status, san);
     }
 
-    private void handleCastlingRook(ChessMove move, ChessPiece piece) {
-        if (piece.getPieceType() == ChessPiece.PieceType.KING
-                && Math.abs(
-                move.getEndPosition().getColumn()
-                        - move.getStartPosition().getColumn()
-        ) == 2) {
-            int row = move.getStartPosition().getRow();
-            if (move.getEndPosition().getColumn() == 7) {
-                moveRook(row, 8, 6);
-            } else {
-                moveRook(row, 1, 4);
+    /**
+     * Finds the legal move for the side to move written in standard algebraic
+     * notation. Check marks and annotations are ignored, castling may be
+     * written with zeros, and the '=' before a promotion piece is optional.
+     *
+     * @return the packed {@link Move}, or {@link Move#NONE} if no legal move matches
+     */
+    public int parseSan(CharSequence text) {
+        int end = text.length();
+        while (end > 0 && "+#!?".indexOf(text.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        String san = text.subSequence(0, end).toString().replace('0', 'O').replace("=", "");
+
+        int[] moves = scratchMoves();
+        int count = legalMoves(turn, moves);
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            ChessPiece piece = ChessPiece.fromIndex(board.getPieceIndex(Move.from(move)));
+            boolean capture = Move.hasFlag(move, Move.CAPTURE);
+            if (toSan(move, piece, capture, moves, count).replace("=", "").equals(san)) {
+                return move;
             }
         }
+        return Move.NONE;
     }
 
-    private void moveRook(int row, int fromCol, int toCol) {
-        ChessPosition from = new ChessPosition(row, fromCol);
-        ChessPiece rook = board.getPiece(from);
-        hasMoved.add(from);
-        board.removePiece(from);
-        board.addPiece(new ChessPosition(row, toCol), rook);
+    /**
+     * @return the move in standard algebraic notation without the check
+     * suffix, or null if it is not a legal move for the side to move
+     */
+    public String toSan(ChessMove move) {
+        int wanted = Move.fromChessMove(move);
+        int[] moves = scratchMoves();
+        int count = legalMoves(turn, moves);
+        for (int i = 0; i < count; i++) {
+            if (Move.sameMove(moves[i], wanted)) {
+                ChessPiece piece = ChessPiece.fromIndex(board.getPieceIndex(Move.from(moves[i])));
+                return toSan(moves[i], piece, Move.hasFlag(moves[i], Move.CAPTURE), moves, count);
+            }
+        }
+        return null;
     }
 
-    public boolean isInCheck(TeamColor teamColor) {
-        ChessPosition kingPos = null;
-        for (int r = 1; r <= 8; r++) {
-            for (int c = 1; c <= 8; c++) {
-                ChessPosition pos = new ChessPosition(r, c);
-                ChessPiece p = board.getPiece(pos);
-                if (p != null
-                        && p.getTeamColor() == teamColor
-                        && p.getPieceType() == ChessPiece.PieceType.KING) {
-                    kingPos = pos;
-                    break;
+    /**
+     * Standard algebraic notation for a legal move, without the check suffix.
+     * Another piece of the same kind that can reach the same square forces the
+     * origin file, then the rank, to be named.
+     */
+    private String toSan(int move, ChessPiece piece, boolean capture, int[] legal, int count) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        if (Move.hasFlag(move, Move.CASTLE)) {
+            return Bitboards.column(to) == 7 ? "O-O" : "O-O-O";
+        }
+
+        StringBuilder san = new StringBuilder();
+        if (piece.getPieceType() == ChessPiece.PieceType.PAWN) {
+            if (capture) {
+                san.append((char) ('a' + Bitboards.column(from) - 1));
+            }
+        } else {
+            san.append("KQBNR".charAt(piece.getPieceType().ordinal()));
+            boolean ambiguous = false;
+            boolean sameFile = false;
+            boolean sameRank = false;
+            for (int i = 0; i < count; i++) {
+                int other = Move.from(legal[i]);
+                if (other != from && Move.to(legal[i]) == to && board.getPieceIndex(other) == piece.index()) {
+                    ambiguous = true;
+                    sameFile |= Bitboards.column(other) == Bitboards.column(from);
+                    sameRank |= Bitboards.row(other) == Bitboards.row(from);
                 }
             }
-            if (kingPos != null) {
-                break;
+            if (ambiguous && (!sameFile || sameRank)) {
+                san.append((char) ('a' + Bitboards.column(from) - 1));
+            }
+            if (sameFile) {
+                san.append(Bitboards.row(from));
             }
         }
+        if (capture) {
+            san.append('x');
+        }
+        san.append(ChessPosition.of(to));
+        ChessPiece.PieceType promotion = Move.promotion(move);
+        if (promotion != null) {
+            san.append('=').append("KQBNR".charAt(promotion.ordinal()));
+        }
+        return san.toString();
+    }
 
-        for (int r = 1; r <= 8; r++) {
-            for (int c = 1; c <= 8; c++) {
-                ChessPosition pos = new ChessPosition(r, c);
-                ChessPiece p = board.getPiece(pos);
-                if (p == null || p.getTeamColor() == teamColor) {
-                    continue;
-                }
-                for (ChessMove m : p.pieceMoves(board, pos)) {
-                    if (m.getEndPosition().equals(kingPos)) {
-                        return true;
-                    }
-                }
+    /**
+     * Plays a move without any legality checks and pushes an undo record, so the
+     * position can be restored exactly by {@link #unmakeMove()}. Handles captures,
+     * en passant, promotion and castling, and updates the turn, castling rights,
+     * en passant square, last move and halfmove clock. The caller must pass a
+     * pseudo-legal move for the side to move.
+     */
+    public void makeMoveUnchecked(ChessMove move) {
+        makeMoveUnchecked(Move.fromChessMove(move));
+    }
+
+    /**
+     * Packed-move form of {@link #makeMoveUnchecked(ChessMove)}; the move's
+     * flags are not trusted, so any {@link Move} with the right squares works.
+     */
+    public void makeMoveUnchecked(int move) {
+        keyHistory[historyPly & (HISTORY_SIZE - 1)] = getPositionKey();
+        historyPly++;
+
+        int from = Move.from(move);
+        int to = Move.to(move);
+        ChessPiece.PieceType promotion = Move.promotion(move);
+        int moved = board.getPieceIndex(from);
+        ChessPiece piece = ChessPiece.fromIndex(moved);
+        boolean isPawn = piece.getPieceType() == ChessPiece.PieceType.PAWN;
+
+        int captureSquare = to;
+        if (isPawn && to == epSquare && Bitboards.column(from) != Bitboards.column(to)) {
+            captureSquare = Bitboards.square(Bitboards.row(from), Bitboards.column(to));
+        }
+        int captured = board.getPieceIndex(captureSquare);
+        boolean castle = piece.getPieceType() == ChessPiece.PieceType.KING
+                && Math.abs(Bitboards.column(to) - Bitboards.column(from)) == 2;
+
+        long record = ((long) from << FROM_SHIFT)
+                | ((long) to << TO_SHIFT)
+                | ((long) captureSquare << CAPTURE_SQUARE_SHIFT)
+                | ((long) (moved + 1) << MOVED_SHIFT)
+                | ((long) (captured + 1) << CAPTURED_SHIFT)
+                | ((long) halfmoveClock << CLOCK_SHIFT)
+                | ((long) castlingRights << RIGHTS_SHIFT)
+                | ((long) (epSquare + 1) << EP_SHIFT);
+
+        if (captured >= 0) {
+            board.clearSquare(captureSquare);
+        }
+        board.clearSquare(from);
+        board.setSquare(to, promotion != null ? ChessPiece.index(piece.getTeamColor(), promotion) : moved);
+
+        if (castle) {
+            record |= CASTLE_FLAG;
+            int rookFrom = Bitboards.column(to) == 7 ? to + 1 : to - 2;
+            int rookTo = Bitboards.column(to) == 7 ? to - 1 : to + 1;
+            int rook = board.getPieceIndex(rookFrom);
+            board.clearSquare(rookFrom);
+            if (rook >= 0) {
+                board.setSquare(rookTo, rook);
             }
         }
 
-        return false;
+        pushUndo(record);
+        castlingRights &= CASTLING_MASK[from] & CASTLING_MASK[to];
+        epSquare = isPawn && Math.abs(to - from) == 16 ? (from + to) / 2 : -1;
+        halfmoveClock = (isPawn || captured >= 0) ? 0 : halfmoveClock + 1;
+        lastMove = Move.toChessMove(move);
+        turn = (turn == TeamColor.WHITE) ? TeamColor.BLACK : TeamColor.WHITE;
     }
 
-    private boolean hasAnyLegalMove(TeamColor team) {
-        for (int r = 1; r <= 8; r++) {
-            for (int c = 1; c <= 8; c++) {
-                ChessPosition pos = new ChessPosition(r, c);
-                ChessPiece p = board.getPiece(pos);
-                if (p != null && p.getTeamColor() == team) {
-                    if (!validMoves(pos).isEmpty()) {
-                        return true;
-                    }
-                }
+    /**
+     * Takes back the most recent {@link #makeMoveUnchecked(int)}.
+     */
+    public void unmakeMove() {
+        undoCount--;
+        long record = undoStack[undoCount];
+        lastMove = undoLastMoves[undoCount];
+        undoLastMoves[undoCount] = null;
+
+        int from = (int) (record >>> FROM_SHIFT) & 63;
+        int to = (int) (record >>> TO_SHIFT) & 63;
+        int captureSquare = (int) (record >>> CAPTURE_SQUARE_SHIFT) & 63;
+        int moved = ((int) (record >>> MOVED_SHIFT) & 15) - 1;
+        int captured = ((int) (record >>> CAPTURED_SHIFT) & 15) - 1;
+
+        turn = (turn == TeamColor.WHITE) ? TeamColor.BLACK : TeamColor.WHITE;
+        historyPly--;
+        halfmoveClock = (int) (record >>> CLOCK_SHIFT) & 0xFFFF;
+        castlingRights = (int) (record >>> RIGHTS_SHIFT) & 15;
+        epSquare = ((int) (record >>> EP_SHIFT) & 127) - 1;
+
+        if ((record & CASTLE_FLAG) != 0) {
+            int rookFrom = Bitboards.column(to) == 7 ? to + 1 : to - 2;
+            int rookTo = Bitboards.column(to) == 7 ? to - 1 : to + 1;
+            int rook = board.getPieceIndex(rookTo);
+            board.clearSquare(rookTo);
+            if (rook >= 0) {
+                board.setSquare(rookFrom, rook);
+            }
+        }
+
+        board.clearSquare(to);
+        board.setSquare(from, moved);
+        if (captured >= 0) {
+            board.setSquare(captureSquare, captured);
+        }
+    }
+
+    private void pushUndo(long record) {
+        if (undoStack == null) {
+            undoStack = new long[UNDO_INITIAL_DEPTH];
+            undoLastMoves = new ChessMove[UNDO_INITIAL_DEPTH];
+        } else if (undoCount == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, undoCount * 2);
+            undoLastMoves = Arrays.copyOf(undoLastMoves, undoCount * 2);
+        }
+        undoStack[undoCount] = record;
+        undoLastMoves[undoCount] = lastMove;
+        undoCount++;
+    }
+
+    public boolean isInCheck(TeamColor teamColor) {
+        int king = board.getKingSquare(teamColor);
+        return king >= 0 && board.isSquareAttacked(king, opponent(teamColor));
+    }
+
+    private static TeamColor opponent(TeamColor team) {
+        return team == TeamColor.WHITE ? TeamColor.BLACK : TeamColor.WHITE;
+    }
+
+    /**
+     * Classifies the position for the team in a single pass: checkers are found
+     * once, and the search for a legal move stops at the first one. The king
+     * is tried first since it is the usual way out of check and the cheapest
+     * to test, then captures, which include taking a lone checker, and only
+     * then quiet moves. Mate and stalemate take precedence over the material, fifty-move and
+     * repetition draws.
+     */
+    public GameStatus getStatus(TeamColor team) {
+        int king = board.getKingSquare(team);
+        long checkers = king < 0 ? 0L : checkers(team, king);
+        boolean canMove = hasAnyLegalMove(team, king, checkers);
+        if (!canMove) {
+            return checkers != 0 ? GameStatus.CHECKMATE : GameStatus.STALEMATE;
+        }
+        if (board.hasInsufficientMaterial()) {
+            return GameStatus.DRAW_INSUFFICIENT_MATERIAL;
+        }
+        if (isFiftyMoveDraw()) {
+            return GameStatus.DRAW_FIFTY_MOVES;
+        }
+        if (isThreefoldRepetition()) {
+            return GameStatus.DRAW_REPETITION;
+        }
+        return checkers != 0 ? GameStatus.CHECK : GameStatus.ONGOING;
+    }
+
+    private boolean hasAnyLegalMove(TeamColor team, int king, long checkers) {
+        int[] moves = scratchMoves();
+        if (king < 0) {
+            return legalMoves(team, moves) > 0;
+        }
+        if (generateLegalPieceMoves(king, team, king, checkers, 0L, moves, 0) > 0) {
+            return true;
+        }
+        if (Long.bitCount(checkers) > 1) {
+            return false;
+        }
+        long pinned = pinnedPieces(team, king);
+        long others = board.getOccupancy(team) & ~Bitboards.bit(king);
+        long enemies = board.getOccupancy(opponent(team));
+        return hasLegalMoveOnto(others, team, king, checkers, pinned, enemies, moves)
+                || hasLegalMoveOnto(others, team, king, checkers, pinned, ~enemies, moves);
+    }
+
+    private boolean hasLegalMoveOnto(long pieces, TeamColor team, int king, long checkers, long pinned,
+                                     long targets, int[] moves) {
+        while (pieces != 0) {
+            int square = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            if (generateLegalPieceMoves(square, team, king, checkers, pinned, targets, moves, 0) > 0) {
+                return true;
             }
         }
         return false;
     }
 
     public boolean isInCheckmate(TeamColor team) {
-        return isInCheck(team) && !hasAnyLegalMove(team);
+        return getStatus(team) == GameStatus.CHECKMATE;
     }
 
     public boolean isInStalemate(TeamColor team) {
-        return !isInCheck(team) && !hasAnyLegalMove(team);
+        return getStatus(team) == GameStatus.STALEMATE;
     }
 
+    /**
+     * Replaces the board. Castling rights are taken from the placement, as if
+     * no king or rook on its home square had moved, and en passant is cleared.
+     * The new position starts a game of its own: the halfmove clock, position
+     * history and fullmove count start over, and earlier moves can no longer
+     * be unmade.
+     */
     public void setBoard(ChessBoard board) {
         this.board = board;
+        this.castlingRights = placementRights();
+        this.epSquare = -1;
+        this.halfmoveClock = 0;
+        this.historyPly = 0;
+        this.startPly = 0;
+        this.undoCount = 0;
     }
 
     public ChessBoard getBoard() {
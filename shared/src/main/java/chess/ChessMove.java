@@ -1,8 +1,48 @@
 package chess;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.Objects;
 
+@JsonAdapter(ChessMove.Adapter.class)
 public class ChessMove {
+    /*
+     * Shared instances of every geometrically possible move, indexed by
+     * promotion (PieceType ordinal + 1, 0 for none) * 4096 + from * 64 + to.
+     * Only queen-line and knight moves, plus promotions onto the last rank,
+     * are filled in.
+     */
+    private static final ChessMove[] MOVES = new ChessMove[(ChessPiece.PieceType.values().length + 1) * 4096];
+
+    static {
+        ChessPiece.PieceType[] promotions = {
+                ChessPiece.PieceType.QUEEN, ChessPiece.PieceType.ROOK,
+                ChessPiece.PieceType.BISHOP, ChessPiece.PieceType.KNIGHT
+        };
+        for (int from = 0; from < 64; from++) {
+            for (int to = 0; to < 64; to++) {
+                int dr = Bitboards.row(to) - Bitboards.row(from);
+                int dc = Math.abs(Bitboards.column(to) - Bitboards.column(from));
+                boolean line = from != to && (dr == 0 || dc == 0 || Math.abs(dr) == dc);
+                boolean knight = Math.abs(dr) * dc == 2;
+                if (line || knight) {
+                    MOVES[from * 64 + to] = new ChessMove(ChessPosition.of(from), ChessPosition.of(to), null);
+                }
+                boolean promotes = dc <= 1 && ((dr == 1 && Bitboards.row(to) == 8) || (dr == -1 && Bitboards.row(to) == 1));
+                if (promotes) {
+                    for (ChessPiece.PieceType type : promotions) {
+                        MOVES[index(from, to, type)] = new ChessMove(ChessPosition.of(from), ChessPosition.of(to), type);
+                    }
+                }
+            }
+        }
+    }
+
     private final ChessPosition start, end;
     private final ChessPiece.PieceType promotionPiece;
 
@@ -12,12 +52,55 @@ public class ChessMove {
         this.promotionPiece = promotionPiece;
     }
 
+    /**
+     * Returns the shared instance for a geometrically possible move, or a new
+     * one for anything else (off-board or impossible squares).
+     */
+    public static ChessMove of(ChessPosition start, ChessPosition end, ChessPiece.PieceType promotionPiece) {
+        if (start != null && end != null
+                && Bitboards.isOnBoard(start.getRow(), start.getColumn())
+                && Bitboards.isOnBoard(end.getRow(), end.getColumn())) {
+            ChessMove move = MOVES[index(Bitboards.square(start), Bitboards.square(end), promotionPiece)];
+            if (move != null) {
+                return move;
+            }
+        }
+        return new ChessMove(start, end, promotionPiece);
+    }
+
+    public static ChessMove of(int from, int to, ChessPiece.PieceType promotionPiece) {
+        ChessMove move = MOVES[index(from, to, promotionPiece)];
+        return move != null ? move : new ChessMove(ChessPosition.of(from), ChessPosition.of(to), promotionPiece);
+    }
+
+    private static int index(int from, int to, ChessPiece.PieceType promotionPiece) {
+        int promotion = promotionPiece == null ? 0 : promotionPiece.ordinal() + 1;
+        return promotion * 4096 + from * 64 + to;
+    }
+
     public ChessPosition getStartPosition() { return start; }
 
     public ChessPosition getEndPosition() { return end; }
 
     public ChessPiece.PieceType getPromotionPiece() { return promotionPiece; }
 
+    /**
+     * @return the move in coordinate notation, e.g. "e2e4" or "e7e8q"
+     */
+    @Override
+    public String toString() {
+        if (promotionPiece == null) {
+            return start.toString() + end;
+        }
+        char promotion = switch (promotionPiece) {
+            case QUEEN -> 'q';
+            case ROOK -> 'r';
+            case BISHOP -> 'b';
+            default -> 'n';
+        };
+        return start.toString() + end + promotion;
+    }
+
     @Override
     public boolean equals(Object o) {
         return this == o || (o instanceof ChessMove m &&
@@ -30,4 +113,59 @@ public class ChessMove {
     public int hashCode() {
         return Objects.hash(start, end, promotionPiece);
     }
-}
\ No newline at end of file
+
+    /**
+     * Keeps the default {"start":..,"end":..,"promotionPiece":..} JSON shape
+     * but resolves parsed moves to the shared instances.
+     */
+    static class Adapter extends TypeAdapter<ChessMove> {
+        private final ChessPosition.Adapter positions = new ChessPosition.Adapter();
+
+        @Override
+        public void write(JsonWriter out, ChessMove move) throws IOException {
+            if (move == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("start");
+            positions.write(out, move.start);
+            out.name("end");
+            positions.write(out, move.end);
+            if (move.promotionPiece != null) {
+                out.name("promotionPiece").value(move.promotionPiece.name());
+            }
+            out.endObject();
+        }
+
+        @Override
+        public ChessMove read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            ChessPosition start = null;
+            ChessPosition end = null;
+            ChessPiece.PieceType promotion = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "start" -> start = positions.read(in);
+                    case "end" -> end = positions.read(in);
+                    case "promotionPiece" -> promotion = readPromotion(in);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return of(start, end, promotion);
+        }
+
+        private static ChessPiece.PieceType readPromotion(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            return ChessPiece.PieceType.valueOf(in.nextString());
+        }
+    }
+}
@@ -6,6 +6,16 @@ import java.util.*;
  * Represents a chess piece and its movement logic.
  */
 public class ChessPiece {
+    private static final ChessPiece[] CANONICAL = new ChessPiece[12];
+
+    static {
+        for (ChessGame.TeamColor color : ChessGame.TeamColor.values()) {
+            for (PieceType type : PieceType.values()) {
+                CANONICAL[index(color, type)] = new ChessPiece(color, type);
+            }
+        }
+    }
+
     private final ChessGame.TeamColor color;
     private final PieceType type;
 
@@ -16,117 +26,117 @@ public class ChessPiece {
 
     public enum PieceType { KING, QUEEN, BISHOP, KNIGHT, ROOK, PAWN }
 
-    public ChessGame.TeamColor getTeamColor() {
-        return color;
+    /**
+     * Index of a colored piece in the board's bitboard array: white pieces
+     * occupy 0..5 and black pieces 6..11, in {@link PieceType} order.
+     */
+    public static int index(ChessGame.TeamColor color, PieceType type) {
+        return color.ordinal() * 6 + type.ordinal();
     }
 
-    public PieceType getPieceType() {
-        return type;
+    /**
+     * Returns the shared immutable piece for the given bitboard index.
+     */
+    public static ChessPiece fromIndex(int index) {
+        return CANONICAL[index];
     }
 
-    private boolean isValidPosition(ChessPosition pos) {
-        int row = pos.getRow();
-        int col = pos.getColumn();
-        return row >= 1 && row <= 8 && col >= 1 && col <= 8;
+    public static ChessPiece of(ChessGame.TeamColor color, PieceType type) {
+        return CANONICAL[index(color, type)];
     }
 
-    private void tryAddMove(Collection<ChessMove> moves, ChessBoard board, ChessPosition from, ChessPosition to, boolean canPromote) {
-        if (!isValidPosition(to)) {
-            return;
-        }
+    public int index() {
+        return index(color, type);
+    }
 
-        ChessPiece target = board.getPiece(to);
-        if (target == null || target.getTeamColor() != color) {
-            if (canPromote && type == PieceType.PAWN) {
-                for (PieceType promotion : new PieceType[]{PieceType.QUEEN, PieceType.KNIGHT, PieceType.ROOK, PieceType.BISHOP}) {
-                    moves.add(new ChessMove(from, to, promotion));
-                }
-            } else {
-                moves.add(new ChessMove(from, to, null));
-            }
-        }
+    public ChessGame.TeamColor getTeamColor() {
+        return color;
+    }
+
+    public PieceType getPieceType() {
+        return type;
     }
 
     public Collection<ChessMove> pieceMoves(ChessBoard board, ChessPosition pos) {
+        int[] buffer = new int[32];
+        int count = pieceMoves(board, Bitboards.square(pos), buffer, 0);
         Collection<ChessMove> moves = new HashSet<>();
-
-        switch (type) {
-            case PAWN -> generatePawnMoves(moves, board, pos);
-            case BISHOP -> generateDirectionalMoves(moves, board, pos, new int[][]{{1, 1}, {1, -1}, {-1, 1}, {-1, -1}});
-            case ROOK -> generateDirectionalMoves(moves, board, pos, new int[][]{{1, 0}, {-1, 0}, {0, 1}, {0, -1}});
-            case QUEEN -> generateDirectionalMoves(moves, board, pos, new int[][]{
-                    {1, 1}, {1, -1}, {-1, 1}, {-1, -1}, {1, 0}, {-1, 0}, {0, 1}, {0, -1}
-            });
-            case KNIGHT -> generateJumpMoves(moves, board, pos, new int[][]{
-                    {2, 1}, {1, 2}, {-1, 2}, {-2, 1}, {-2, -1}, {-1, -2}, {1, -2}, {2, -1}
-            });
-            case KING -> generateJumpMoves(moves, board, pos, new int[][]{
-                    {1, 1}, {1, 0}, {1, -1}, {0, 1}, {0, -1}, {-1, 1}, {-1, 0}, {-1, -1}
-            });
+        for (int i = 0; i < count; i++) {
+            moves.add(Move.toChessMove(buffer[i]));
         }
-
         return moves;
     }
 
-    private void generatePawnMoves(Collection<ChessMove> moves, ChessBoard board, ChessPosition pos) {
-        int row = pos.getRow();
-        int col = pos.getColumn();
-        int direction = (color == ChessGame.TeamColor.WHITE) ? 1 : -1;
-        int startRow = (color == ChessGame.TeamColor.WHITE) ? 2 : 7;
-        int promoteRow = (color == ChessGame.TeamColor.WHITE) ? 8 : 1;
-
-        // Forward move
-        ChessPosition oneStep = new ChessPosition(row + direction, col);
-        if (isValidPosition(oneStep) && board.getPiece(oneStep) == null) {
-            tryAddMove(moves, board, pos, oneStep, oneStep.getRow() == promoteRow);
-
-            // Two-step move from starting position
-            if (row == startRow) {
-                ChessPosition twoStep = new ChessPosition(row + 2 * direction, col);
-                if (board.getPiece(twoStep) == null) {
-                    tryAddMove(moves, board, pos, twoStep, false);
-                }
+    /**
+     * Writes this piece's pseudo-legal moves from the square into the buffer as
+     * packed {@link Move} ints, without allocating. En passant and castling
+     * depend on game state and are added by {@link ChessGame}.
+     *
+     * @param count the number of moves already in the buffer
+     * @return the new number of moves in the buffer
+     */
+    public int pieceMoves(ChessBoard board, int square, int[] moves, int count) {
+        long occupied = board.getOccupied();
+        long enemy = board.getOccupancy(color == ChessGame.TeamColor.WHITE
+                ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE);
+        long notOwn = ~board.getOccupancy(color);
+
+        return switch (type) {
+            case PAWN -> pawnMoves(square, occupied, enemy, moves, count);
+            case BISHOP -> addTargets(square, Attacks.bishop(square, occupied) & notOwn, enemy, moves, count);
+            case ROOK -> addTargets(square, Attacks.rook(square, occupied) & notOwn, enemy, moves, count);
+            case QUEEN -> addTargets(square, Attacks.queen(square, occupied) & notOwn, enemy, moves, count);
+            case KNIGHT -> addTargets(square, Attacks.knight(square) & notOwn, enemy, moves, count);
+            case KING -> addTargets(square, Attacks.king(square) & notOwn, enemy, moves, count);
+        };
+    }
+
+    private int pawnMoves(int square, long occupied, long enemy, int[] moves, int count) {
+        boolean white = color == ChessGame.TeamColor.WHITE;
+        int step = white ? 8 : -8;
+        int startRow = white ? 2 : 7;
+
+        // Forward move, and the two-step move from the starting row
+        int oneStep = square + step;
+        if (oneStep >= 0 && oneStep < 64 && (occupied & Bitboards.bit(oneStep)) == 0) {
+            count = addPawnMove(square, oneStep, 0, moves, count);
+            int twoStep = oneStep + step;
+            if (Bitboards.row(square) == startRow && (occupied & Bitboards.bit(twoStep)) == 0) {
+                moves[count++] = Move.of(square, twoStep) | Move.DOUBLE_PUSH;
             }
         }
 
         // Diagonal captures
-        for (int dc : new int[]{-1, 1}) {
-            ChessPosition diag = new ChessPosition(row + direction, col + dc);
-            if (isValidPosition(diag)) {
-                ChessPiece target = board.getPiece(diag);
-                if (target != null && target.getTeamColor() != color) {
-                    tryAddMove(moves, board, pos, diag, diag.getRow() == promoteRow);
-                }
-            }
+        long captures = Attacks.pawn(color, square) & enemy;
+        while (captures != 0) {
+            int to = Long.numberOfTrailingZeros(captures);
+            captures &= captures - 1;
+            count = addPawnMove(square, to, Move.CAPTURE, moves, count);
         }
+        return count;
     }
 
-    private void generateDirectionalMoves(Collection<ChessMove> moves, ChessBoard board, ChessPosition pos, int[][] directions) {
-        for (int[] d : directions) {
-            for (int i = 1; i < 8; i++) {
-                ChessPosition next = new ChessPosition(pos.getRow() + d[0] * i, pos.getColumn() + d[1] * i);
-                if (!isValidPosition(next)) {
-                    break;
-                }
-
-                ChessPiece target = board.getPiece(next);
-                if (target == null) {
-                    moves.add(new ChessMove(pos, next, null));
-                } else {
-                    if (target.getTeamColor() != color) {
-                        moves.add(new ChessMove(pos, next, null));
-                    }
-                    break;
-                }
-            }
+    private int addPawnMove(int from, int to, int flags, int[] moves, int count) {
+        int promoteRow = color == ChessGame.TeamColor.WHITE ? 8 : 1;
+        if (Bitboards.row(to) == promoteRow) {
+            moves[count++] = Move.of(from, to, PieceType.QUEEN, flags);
+            moves[count++] = Move.of(from, to, PieceType.KNIGHT, flags);
+            moves[count++] = Move.of(from, to, PieceType.ROOK, flags);
+            moves[count++] = Move.of(from, to, PieceType.BISHOP, flags);
+        } else {
+            moves[count++] = Move.of(from, to) | flags;
         }
+        return count;
     }
 
-    private void generateJumpMoves(Collection<ChessMove> moves, ChessBoard board, ChessPosition pos, int[][] deltas) {
-        for (int[] d : deltas) {
-            ChessPosition next = new ChessPosition(pos.getRow() + d[0], pos.getColumn() + d[1]);
-            tryAddMove(moves, board, pos, next, false);
+    private static int addTargets(int from, long targets, long enemy, int[] moves, int count) {
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            long bit = targets & -targets;
+            targets ^= bit;
+            moves[count++] = Move.of(from, to) | ((enemy & bit) != 0 ? Move.CAPTURE : 0);
         }
+        return count;
     }
 
     @Override
@@ -1,8 +1,24 @@
 package chess;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.Objects;
 
+@JsonAdapter(ChessPosition.Adapter.class)
 public class ChessPosition {
+    private static final ChessPosition[] SQUARES = new ChessPosition[64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            SQUARES[square] = new ChessPosition(Bitboards.row(square), Bitboards.column(square));
+        }
+    }
+
     private final int row, col;
 
     public ChessPosition(int row, int col) {
@@ -10,6 +26,19 @@ public class ChessPosition {
         this.col = col;
     }
 
+    /**
+     * Returns the shared instance for an on-board position, so callers that
+     * only need a position never allocate one. Off-board coordinates get a
+     * fresh instance, as the constructor would.
+     */
+    public static ChessPosition of(int row, int col) {
+        return Bitboards.isOnBoard(row, col) ? SQUARES[Bitboards.square(row, col)] : new ChessPosition(row, col);
+    }
+
+    public static ChessPosition of(int square) {
+        return SQUARES[square];
+    }
+
     public int getRow() {
         return row;
     }
@@ -18,6 +47,14 @@ public class ChessPosition {
         return col;
     }
 
+    /**
+     * @return the position in algebraic notation, e.g. "e4"
+     */
+    @Override
+    public String toString() {
+        return "" + (char) ('a' + col - 1) + row;
+    }
+
     @Override
     public boolean equals(Object o) {
         return (this == o) || (o instanceof ChessPosition pos && row == pos.row && col == pos.col);
@@ -27,4 +64,39 @@ public class ChessPosition {
     public int hashCode() {
         return Objects.hash(row, col);
     }
-}
\ No newline at end of file
+
+    /**
+     * Keeps the {"row":..,"col":..} JSON shape but resolves parsed positions
+     * to the shared instances.
+     */
+    static class Adapter extends TypeAdapter<ChessPosition> {
+        @Override
+        public void write(JsonWriter out, ChessPosition pos) throws IOException {
+            if (pos == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject().name("row").value(pos.row).name("col").value(pos.col).endObject();
+        }
+
+        @Override
+        public ChessPosition read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            int row = 0;
+            int col = 0;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "row" -> row = in.nextInt();
+                    case "col" -> col = in.nextInt();
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return of(row, col);
+        }
+    }
+}
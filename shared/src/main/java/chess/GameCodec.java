@@ -0,0 +1,132 @@
+package chess;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compact, versioned binary encoding of a {@link ChessGame} for storage.
+ * Version 1 is laid out as:
+ * <pre>
+ *   0      version
+ *   1-32   board, one nibble per square from a1 (low nibble first): 0 for
+ *          empty, otherwise the {@link ChessPiece#index} plus one
+ *   33     flags: black to move, game over, white won, black won
+ *   34     castling rights
+ *   35     en passant square plus one, 0 for none
+ *   36-37  halfmove clock
+ *   38-39  fullmove number
+ *   40-41  last move as a packed {@link Move} without flags, 0 for none
+ *   42     number of earlier position keys kept for repetition checks
+ *   43-    those keys, oldest first, eight bytes each
+ * </pre>
+ * A game without recent history takes 43 bytes.
+ */
+public final class GameCodec {
+    public static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 43;
+    private static final int BLACK_TO_MOVE = 1;
+    private static final int GAME_OVER = 2;
+    private static final int WHITE_WON = 4;
+    private static final int BLACK_WON = 8;
+    private static final int MOVE_MASK = 0x7FFF;
+
+    private GameCodec() {}
+
+    public static byte[] encode(ChessGame game) {
+        long[] history = game.getRepetitionHistory();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + history.length * Long.BYTES);
+        buffer.put((byte) VERSION);
+
+        ChessBoard board = game.getBoard();
+        for (int square = 0; square < 64; square += 2) {
+            int low = board.getPieceIndex(square) + 1;
+            int high = board.getPieceIndex(square + 1) + 1;
+            buffer.put((byte) (low | high << 4));
+        }
+
+        int flags = 0;
+        if (game.getTeamTurn() == ChessGame.TeamColor.BLACK) {
+            flags |= BLACK_TO_MOVE;
+        }
+        if (game.isGameOver()) {
+            flags |= GAME_OVER;
+        }
+        if (game.getWinner() != null) {
+            flags |= game.getWinner() == ChessGame.TeamColor.WHITE ? WHITE_WON : BLACK_WON;
+        }
+        buffer.put((byte) flags);
+        buffer.put((byte) game.getCastlingRights());
+        ChessPosition ep = game.getEnPassantSquare();
+        buffer.put((byte) (ep == null ? 0 : Bitboards.square(ep) + 1));
+        buffer.putShort((short) Math.min(game.getHalfmoveClock(), 0xFFFF));
+        buffer.putShort((short) Math.min(game.getFullmoveNumber(), 0xFFFF));
+        ChessMove last = game.getLastMove();
+        buffer.putShort((short) (last == null ? 0 : Move.fromChessMove(last) & MOVE_MASK));
+
+        buffer.put((byte) history.length);
+        for (long key : history) {
+            buffer.putLong(key);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the data is not an encoded game of a known version
+     */
+    public static ChessGame decode(byte[] data) {
+        if (data == null || data.length < HEADER_BYTES) {
+            throw new IllegalArgumentException("Encoded game is too short");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        int version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported game encoding version " + version);
+        }
+
+        ChessBoard board = new ChessBoard();
+        for (int square = 0; square < 64; square += 2) {
+            int pair = buffer.get() & 0xFF;
+            putPiece(board, square, pair & 15);
+            putPiece(board, square + 1, pair >>> 4);
+        }
+
+        int flags = buffer.get();
+        int rights = buffer.get();
+        int ep = buffer.get() & 0xFF;
+        int halfmoveClock = buffer.getShort() & 0xFFFF;
+        int fullmoveNumber = buffer.getShort() & 0xFFFF;
+        int lastMove = buffer.getShort() & MOVE_MASK;
+        int historyLength = buffer.get() & 0xFF;
+        if (ep > 64 || buffer.remaining() != historyLength * Long.BYTES) {
+            throw new IllegalArgumentException("Encoded game is corrupt");
+        }
+        long[] history = new long[historyLength];
+        for (int i = 0; i < historyLength; i++) {
+            history[i] = buffer.getLong();
+        }
+
+        ChessGame game = new ChessGame();
+        game.setBoard(board);
+        game.setTeamTurn((flags & BLACK_TO_MOVE) != 0 ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE);
+        game.setCastlingRights(rights);
+        game.setEnPassantSquare(ep == 0 ? null : ChessPosition.of(ep - 1));
+        game.setHalfmoveClock(halfmoveClock);
+        game.setLastMove(lastMove == 0 ? null : Move.toChessMove(lastMove));
+        game.setRepetitionHistory(history);
+        game.setFullmoveNumber(fullmoveNumber);
+        game.setGameOver((flags & GAME_OVER) != 0);
+        if ((flags & (WHITE_WON | BLACK_WON)) != 0) {
+            game.setWinner((flags & WHITE_WON) != 0 ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK);
+        }
+        return game;
+    }
+
+    private static void putPiece(ChessBoard board, int square, int value) {
+        if (value > 12) {
+            throw new IllegalArgumentException("Encoded game is corrupt");
+        }
+        if (value != 0) {
+            board.addPiece(ChessPosition.of(square), ChessPiece.fromIndex(value - 1));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package chess;
+
+/**
+ * Material signatures: a count of each non-king piece kind packed into one
+ * {@code long}, four bits per kind with white in the low 20 bits and black
+ * above, so the board can keep it current with one add or subtract per piece
+ * and draw rules can classify the material without scanning the board.
+ */
+public final class Material {
+    private static final long[] UNIT = new long[12];
+    private static final int[] SHIFT = new int[12];
+
+    /*
+     * Counts that rule out a dead position on their own: any pawn, rook or queen.
+     */
+    private static final long MATING_MATERIAL;
+
+    private static final byte LIVE = 0;
+    private static final byte DEAD = 1;
+    private static final byte DEAD_IF_SAME_COLOR_BISHOPS = 2;
+
+    /*
+     * Minor-piece-only material indexed by white bishops, white knights, black
+     * bishops and black knights, each count capped at 3 in two bits.
+     */
+    private static final byte[] MINORS = new byte[256];
+
+    static {
+        long mating = 0L;
+        for (ChessGame.TeamColor color : ChessGame.TeamColor.values()) {
+            for (ChessPiece.PieceType type : ChessPiece.PieceType.values()) {
+                int index = ChessPiece.index(color, type);
+                if (type == ChessPiece.PieceType.KING) {
+                    continue;
+                }
+                SHIFT[index] = color.ordinal() * 20 + (type.ordinal() - 1) * 4;
+                UNIT[index] = 1L << SHIFT[index];
+                if (type == ChessPiece.PieceType.PAWN || type == ChessPiece.PieceType.ROOK
+                        || type == ChessPiece.PieceType.QUEEN) {
+                    mating |= 15L << SHIFT[index];
+                }
+            }
+        }
+        MATING_MATERIAL = mating;
+
+        for (int i = 0; i < MINORS.length; i++) {
+            int whiteBishops = i & 3;
+            int whiteKnights = (i >>> 2) & 3;
+            int blackBishops = (i >>> 4) & 3;
+            int blackKnights = (i >>> 6) & 3;
+            int minors = whiteBishops + whiteKnights + blackBishops + blackKnights;
+            if (minors <= 1) {
+                MINORS[i] = DEAD;
+            } else if (whiteKnights == 0 && blackKnights == 0) {
+                MINORS[i] = DEAD_IF_SAME_COLOR_BISHOPS;
+            } else {
+                MINORS[i] = LIVE;
+            }
+        }
+    }
+
+    private Material() {}
+
+    /**
+     * @return the amount to add to a signature for one piece of the given
+     * {@link ChessPiece#index}, zero for kings
+     */
+    public static long unit(int pieceIndex) {
+        return UNIT[pieceIndex];
+    }
+
+    public static int count(long signature, int pieceIndex) {
+        return UNIT[pieceIndex] == 0 ? 0 : (int) (signature >>> SHIFT[pieceIndex]) & 15;
+    }
+
+    /**
+     * Whether neither side can possibly mate: bare kings, a single minor piece,
+     * or bishops alone that all stand on squares of one color.
+     *
+     * @param bishops every bishop on the board, to tell the square colors apart
+     */
+    public static boolean isInsufficient(long signature, long bishops) {
+        if ((signature & MATING_MATERIAL) != 0) {
+            return false;
+        }
+        int index = minorCount(signature, ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP)
+                | minorCount(signature, ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT) << 2
+                | minorCount(signature, ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP) << 4
+                | minorCount(signature, ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT) << 6;
+        return switch (MINORS[index]) {
+            case DEAD -> true;
+            case DEAD_IF_SAME_COLOR_BISHOPS ->
+                    (bishops & Bitboards.LIGHT_SQUARES) == 0 || (bishops & ~Bitboards.LIGHT_SQUARES) == 0;
+            default -> false;
+        };
+    }
+
+    private static int minorCount(long signature, ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return Math.min(count(signature, ChessPiece.index(color, type)), 3);
+    }
+}
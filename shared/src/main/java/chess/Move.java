@@ -0,0 +1,81 @@
+package chess;
+
+/**
+ * Moves packed into a single {@code int}, for generating into reusable
+ * buffers without allocating. Layout, low bits first:
+ * <pre>
+ *   bits  0-5   from square (see {@link Bitboards#square})
+ *   bits  6-11  to square
+ *   bits 12-14  promotion piece, {@link ChessPiece.PieceType} ordinal + 1, 0 for none
+ *   bits 15-18  flags: capture, en passant, castle, double pawn push
+ * </pre>
+ * Flags are hints set by the generator; two moves are the same move when
+ * {@link #sameMove} says so, whatever their flags.
+ */
+public final class Move {
+    public static final int NONE = 0;
+    public static final int MAX_MOVES = 256;
+
+    public static final int CAPTURE = 1 << 15;
+    public static final int EN_PASSANT = 1 << 16;
+    public static final int CASTLE = 1 << 17;
+    public static final int DOUBLE_PUSH = 1 << 18;
+
+    private static final int MOVE_MASK = (1 << 15) - 1;
+    private static final ChessPiece.PieceType[] PROMOTIONS = ChessPiece.PieceType.values();
+
+    private Move() {}
+
+    public static int of(int from, int to) {
+        return from | (to << 6);
+    }
+
+    public static int of(int from, int to, ChessPiece.PieceType promotion, int flags) {
+        int promo = promotion == null ? 0 : (promotion.ordinal() + 1) << 12;
+        return from | (to << 6) | promo | flags;
+    }
+
+    public static int from(int move) {
+        return move & 63;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & 63;
+    }
+
+    /**
+     * @return the promotion piece type, or null if the move is not a promotion
+     */
+    public static ChessPiece.PieceType promotion(int move) {
+        int promo = (move >>> 12) & 7;
+        return promo == 0 ? null : PROMOTIONS[promo - 1];
+    }
+
+    public static boolean isPromotion(int move) {
+        return (move & (7 << 12)) != 0;
+    }
+
+    public static boolean hasFlag(int move, int flag) {
+        return (move & flag) != 0;
+    }
+
+    public static boolean sameMove(int a, int b) {
+        return (a & MOVE_MASK) == (b & MOVE_MASK);
+    }
+
+    public static int fromChessMove(ChessMove move) {
+        return of(Bitboards.square(move.getStartPosition()), Bitboards.square(move.getEndPosition()),
+                move.getPromotionPiece(), 0);
+    }
+
+    public static ChessMove toChessMove(int move) {
+        return ChessMove.of(from(move), to(move), promotion(move));
+    }
+
+    /**
+     * @return the move in coordinate notation, e.g. "e2e4" or "e7e8q"
+     */
+    public static String toString(int move) {
+        return toChessMove(move).toString();
+    }
+}
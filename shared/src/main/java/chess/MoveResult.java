@@ -0,0 +1,22 @@
+package chess;
+
+/**
+ * Describes a move just played by {@link ChessGame#makeMove}, so callers can
+ * report it without re-examining the game.
+ *
+ * @param move      the move that was played
+ * @param piece     the piece that moved, before any promotion
+ * @param captured  the piece that was captured (nullable)
+ * @param promotion the piece type promoted to (nullable)
+ * @param castle    whether the move castled
+ * @param enPassant whether the move captured en passant
+ * @param status    the status of the opponent, who is now to move
+ * @param san       the move in standard algebraic notation, e.g. "Nbd7", "exd6", "O-O" or "Qh4#"
+ */
+public record MoveResult(ChessMove move, ChessPiece piece, ChessPiece captured, ChessPiece.PieceType promotion,
+                         boolean castle, boolean enPassant, ChessGame.GameStatus status, String san) {
+
+    public boolean isCapture() {
+        return captured != null;
+    }
+}
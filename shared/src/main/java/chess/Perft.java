@@ -0,0 +1,119 @@
+package chess;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Perft ("performance test") walks the legal move tree of a game to a fixed
+ * depth and counts the leaf nodes. The counts for well-known positions are
+ * published, so any mismatch points at a move generation bug, and the
+ * nodes-per-second rate doubles as a generator throughput measure.
+ */
+public final class Perft {
+    private static final int DEFAULT_SPLIT_PLIES = 2;
+
+    private Perft() {}
+
+    /**
+     * @return the number of leaf nodes of the legal move tree, {@code depth} plies deep
+     */
+    public static long perft(ChessGame game, int depth) {
+        return perft(game, depth, new int[Math.max(depth, 1)][Move.MAX_MOVES]);
+    }
+
+    /**
+     * Counts the same leaves as {@link #perft(ChessGame, int)} on the common
+     * fork/join pool, splitting the root moves and their replies into tasks.
+     */
+    public static long parallelPerft(ChessGame game, int depth) {
+        return parallelPerft(game, depth, DEFAULT_SPLIT_PLIES, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Counts leaves with one fork/join task per move for the first
+     * {@code splitPlies} plies; below that each task walks its subtree
+     * sequentially. Every task plays its move on its own copy of the game, so
+     * the caller's game is never touched.
+     */
+    public static long parallelPerft(ChessGame game, int depth, int splitPlies, ForkJoinPool pool) {
+        return pool.invoke(new PerftTask(new ChessGame(game), depth, splitPlies));
+    }
+
+    /**
+     * Splits the perft count by root move, which makes it easy to bisect a
+     * wrong total against a reference engine.
+     *
+     * @return leaf counts keyed by each root move in coordinate notation
+     */
+    public static Map<String, Long> divide(ChessGame game, int depth) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        int[][] buffers = new int[Math.max(depth, 1)][Move.MAX_MOVES];
+        int[] moves = buffers[buffers.length - 1];
+        int count = game.legalMoves(game.getTeamTurn(), moves);
+        for (int i = 0; i < count; i++) {
+            game.makeMoveUnchecked(moves[i]);
+            result.put(Move.toString(moves[i]), depth <= 1 ? 1 : perft(game, depth - 1, buffers));
+            game.unmakeMove();
+        }
+        return result;
+    }
+
+    private static long perft(ChessGame game, int depth, int[][] buffers) {
+        if (depth == 0) {
+            return 1;
+        }
+        int[] moves = buffers[depth - 1];
+        int count = game.legalMoves(game.getTeamTurn(), moves);
+        if (depth == 1) {
+            return count;
+        }
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            game.makeMoveUnchecked(moves[i]);
+            nodes += perft(game, depth - 1, buffers);
+            game.unmakeMove();
+        }
+        return nodes;
+    }
+
+    private static final class PerftTask extends RecursiveTask<Long> {
+        // RecursiveTask is Serializable, but these tasks are never serialized
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient ChessGame game;
+        private final int depth;
+        private final int splitPlies;
+
+        PerftTask(ChessGame game, int depth, int splitPlies) {
+            this.game = game;
+            this.depth = depth;
+            this.splitPlies = splitPlies;
+        }
+
+        @Override
+        protected Long compute() {
+            if (splitPlies <= 0 || depth <= 1) {
+                return perft(game, depth);
+            }
+            int[] moves = new int[Move.MAX_MOVES];
+            int count = game.legalMoves(game.getTeamTurn(), moves);
+            List<PerftTask> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ChessGame child = new ChessGame(game);
+                child.makeMoveUnchecked(moves[i]);
+                tasks.add(new PerftTask(child, depth - 1, splitPlies - 1));
+            }
+            long nodes = 0;
+            for (PerftTask task : invokeAll(tasks)) {
+                nodes += task.join();
+            }
+            return nodes;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package chess;
+
+/**
+ * Midgame and endgame piece-square tables with the piece values folded in,
+ * for the board's incrementally updated evaluation (see
+ * {@link ChessBoard#getEvaluation}). Scores are in centipawns from white's
+ * point of view, so black pieces contribute negative values.
+ * <p>
+ * The tables below are written from white's side with rank 8 on the first
+ * line, as they would look on a printed board; black uses them mirrored.
+ */
+public final class PieceSquareTables {
+    /**
+     * Game phase contributed by each {@link ChessPiece.PieceType}; the full
+     * starting material adds up to {@link #MAX_PHASE}.
+     */
+    private static final int[] PHASE = {0, 4, 1, 1, 2, 0};
+    public static final int MAX_PHASE = 24;
+
+    private static final int[] MIDGAME_VALUE = {0, 900, 330, 320, 500, 100};
+    private static final int[] ENDGAME_VALUE = {0, 950, 310, 300, 540, 120};
+
+    private static final int[] PAWN = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            10, 10, 20, 30, 30, 20, 10, 10,
+            5, 5, 10, 25, 25, 10, 5, 5,
+            0, 0, 0, 20, 20, 0, 0, 0,
+            5, -5, -10, 0, 0, -10, -5, 5,
+            5, 10, 10, -20, -20, 10, 10, 5,
+            0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    private static final int[] PAWN_ENDGAME = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            80, 80, 80, 80, 80, 80, 80, 80,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            30, 30, 30, 30, 30, 30, 30, 30,
+            15, 15, 15, 15, 15, 15, 15, 15,
+            5, 5, 5, 5, 5, 5, 5, 5,
+            0, 0, 0, 0, 0, 0, 0, 0,
+            0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    private static final int[] KNIGHT = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20, 0, 0, 0, 0, -20, -40,
+            -30, 0, 10, 15, 15, 10, 0, -30,
+            -30, 5, 15, 20, 20, 15, 5, -30,
+            -30, 0, 15, 20, 20, 15, 0, -30,
+            -30, 5, 10, 15, 15, 10, 5, -30,
+            -40, -20, 0, 5, 5, 0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50
+    };
+
+    private static final int[] BISHOP = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 10, 10, 5, 0, -10,
+            -10, 5, 5, 10, 10, 5, 5, -10,
+            -10, 0, 10, 10, 10, 10, 0, -10,
+            -10, 10, 10, 10, 10, 10, 10, -10,
+            -10, 5, 0, 0, 0, 0, 5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20
+    };
+
+    private static final int[] ROOK = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            5, 10, 10, 10, 10, 10, 10, 5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            0, 0, 0, 5, 5, 0, 0, 0
+    };
+
+    private static final int[] QUEEN = {
+            -20, -10, -10, -5, -5, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 5, 5, 5, 0, -10,
+            -5, 0, 5, 5, 5, 5, 0, -5,
+            0, 0, 5, 5, 5, 5, 0, -5,
+            -10, 5, 5, 5, 5, 5, 0, -10,
+            -10, 0, 5, 0, 0, 0, 0, -10,
+            -20, -10, -10, -5, -5, -10, -10, -20
+    };
+
+    private static final int[] KING = {
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+            20, 20, 0, 0, 0, 0, 20, 20,
+            20, 30, 10, 0, 0, 10, 30, 20
+    };
+
+    private static final int[] KING_ENDGAME = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10, 0, 0, -10, -20, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -30, 0, 0, 0, 0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50
+    };
+
+    private static final int[][] MIDGAME_TABLES = {KING, QUEEN, BISHOP, KNIGHT, ROOK, PAWN};
+    private static final int[][] ENDGAME_TABLES = {KING_ENDGAME, QUEEN, BISHOP, KNIGHT, ROOK, PAWN_ENDGAME};
+
+    private static final int[][] MIDGAME = new int[12][64];
+    private static final int[][] ENDGAME = new int[12][64];
+
+    static {
+        for (ChessPiece.PieceType type : ChessPiece.PieceType.values()) {
+            int t = type.ordinal();
+            int white = ChessPiece.index(ChessGame.TeamColor.WHITE, type);
+            int black = ChessPiece.index(ChessGame.TeamColor.BLACK, type);
+            for (int sq = 0; sq < 64; sq++) {
+                // Rank 8 is written first, so white reads a flipped square and black the square itself
+                MIDGAME[white][sq] = MIDGAME_VALUE[t] + MIDGAME_TABLES[t][sq ^ 56];
+                ENDGAME[white][sq] = ENDGAME_VALUE[t] + ENDGAME_TABLES[t][sq ^ 56];
+                MIDGAME[black][sq] = -(MIDGAME_VALUE[t] + MIDGAME_TABLES[t][sq]);
+                ENDGAME[black][sq] = -(ENDGAME_VALUE[t] + ENDGAME_TABLES[t][sq]);
+            }
+        }
+    }
+
+    private PieceSquareTables() {}
+
+    public static int midgame(int pieceIndex, int square) {
+        return MIDGAME[pieceIndex][square];
+    }
+
+    public static int endgame(int pieceIndex, int square) {
+        return ENDGAME[pieceIndex][square];
+    }
+
+    public static int phase(int pieceIndex) {
+        return PHASE[pieceIndex % 6];
+    }
+
+    /**
+     * Blends the midgame and endgame scores by how much material is left.
+     */
+    public static int taper(int midgame, int endgame, int phase) {
+        int mg = Math.min(phase, MAX_PHASE);
+        return (midgame * mg + endgame * (MAX_PHASE - mg)) / MAX_PHASE;
+    }
+}
@@ -0,0 +1,59 @@
+package chess;
+
+/**
+ * Zobrist keys for position hashing. A position's key is the XOR of one key
+ * per piece on its square, plus keys for black to move, the castling rights
+ * mask and the en passant file, so a move updates it with a handful of XORs.
+ * The keys come from a fixed-seed splitmix64 sequence so they are identical
+ * in every process, which lets keys be persisted and shared between servers.
+ */
+public final class Zobrist {
+    private static final long[][] PIECE_SQUARE = new long[12][64];
+    private static final long[] CASTLING = new long[16];
+    private static final long[] EN_PASSANT_FILE = new long[8];
+    private static final long BLACK_TO_MOVE;
+
+    static {
+        long[] state = {0x5EED_C0FF_EE15_B0A5L};
+        for (long[] squares : PIECE_SQUARE) {
+            for (int sq = 0; sq < 64; sq++) {
+                squares[sq] = next(state);
+            }
+        }
+        for (int i = 0; i < CASTLING.length; i++) {
+            CASTLING[i] = next(state);
+        }
+        for (int i = 0; i < EN_PASSANT_FILE.length; i++) {
+            EN_PASSANT_FILE[i] = next(state);
+        }
+        BLACK_TO_MOVE = next(state);
+    }
+
+    private Zobrist() {}
+
+    public static long piece(int pieceIndex, int square) {
+        return PIECE_SQUARE[pieceIndex][square];
+    }
+
+    public static long castling(int rights) {
+        return CASTLING[rights];
+    }
+
+    /**
+     * @param column the en passant file, 1..8
+     */
+    public static long enPassant(int column) {
+        return EN_PASSANT_FILE[column - 1];
+    }
+
+    public static long blackToMove() {
+        return BLACK_TO_MOVE;
+    }
+
+    private static long next(long[] state) {
+        long z = (state[0] += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
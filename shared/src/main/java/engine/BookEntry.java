@@ -0,0 +1,12 @@
+package engine;
+
+import chess.ChessMove;
+
+/**
+ * A move stored in an {@link OpeningBook} for some position.
+ *
+ * @param move   the book move
+ * @param weight how often the move was played in the games the book was built from
+ */
+public record BookEntry(ChessMove move, int weight) {
+}
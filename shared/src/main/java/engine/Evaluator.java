@@ -0,0 +1,28 @@
+package engine;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+
+/**
+ * Static evaluation in centipawns, read from the board's incrementally
+ * updated piece-square score (see {@link ChessBoard#getEvaluation}), so a
+ * leaf costs the same however many pieces are on the board.
+ */
+public final class Evaluator {
+    /**
+     * Piece values in {@link ChessPiece.PieceType} order for move ordering;
+     * the king is priced high only so that ordering never trades it.
+     */
+    public static final int[] VALUES = {20000, 900, 330, 320, 500, 100};
+
+    private Evaluator() {}
+
+    /**
+     * @return the score of the position from the point of view of the side to move
+     */
+    public static int evaluate(ChessGame game) {
+        int score = game.getBoard().getEvaluation();
+        return game.getTeamTurn() == ChessGame.TeamColor.WHITE ? score : -score;
+    }
+}
@@ -0,0 +1,28 @@
+package engine;
+
+import chess.ChessMove;
+
+import java.util.List;
+
+/**
+ * The outcome of a {@link MateSolver} search.
+ *
+ * @param moves    the number of moves to mate for the side to move, or 0 if no mate was found
+ * @param line     the mating line with the defender's longest resistance, empty if no mate was found
+ * @param complete false if the node limit ran out first, in which case a missing mate is unknown
+ * @param nodes    the number of positions visited
+ * @param millis   the time the search took
+ */
+public record MateResult(int moves, List<ChessMove> line, boolean complete, long nodes, long millis) {
+
+    public boolean isFound() {
+        return moves > 0;
+    }
+
+    /**
+     * @return the first move of the mating line, or null if no mate was found
+     */
+    public ChessMove keyMove() {
+        return line.isEmpty() ? null : line.get(0);
+    }
+}
@@ -0,0 +1,330 @@
+package engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.Move;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds forced mates for the side to move, for puzzles and "find the mate"
+ * hints. Unlike {@link Search} it never evaluates a position: an attacking
+ * node is proven when one move leaves every defence mated within the
+ * remaining moves, and the depth grows one move at a time so the first mate
+ * found is the shortest. Checking moves are tried first, since they are the
+ * likeliest to mate and leave the defender the fewest replies, and on the
+ * last move only checks are tried at all. The defender tries the reply that
+ * refuted a sibling first. Proven and disproven positions are kept in a
+ * {@link TranspositionTable} so transpositions and deeper iterations reuse
+ * them. Draw rules are ignored, as they are in mate problems.
+ * <p>
+ * The table is sized by the depth asked for, and a node limit can bound the
+ * work for callers that answer requests; a search that runs out reports an
+ * incomplete result rather than a wrong one.
+ */
+public class MateSolver {
+    public static final int MAX_MOVES = 16;
+
+    private static final int MAX_TABLE_MB = 16;
+    // Bounds stored in the table: mate in at most, or no mate in, the entry's depth
+    private static final int PROVEN = TranspositionTable.LOWER;
+    private static final int DISPROVEN = TranspositionTable.UPPER;
+
+    private final ChessGame game;
+    private TranspositionTable table;
+    private int tableMegabytes;
+    private final int[][] moves = new int[MAX_MOVES * 2 + 1][Move.MAX_MOVES];
+    private final int[] refutations = new int[MAX_MOVES * 2 + 1];
+    private long nodes;
+    private long nodeLimit = Long.MAX_VALUE;
+    private boolean stopped;
+
+    public MateSolver(ChessGame game) {
+        this.game = new ChessGame(game);
+    }
+
+    /**
+     * Caps the positions that {@link #solve} and any {@link #keyMoves} calls
+     * after it may visit between them. Unlimited by default.
+     */
+    public void setNodeLimit(long nodeLimit) {
+        if (nodeLimit < 1) {
+            throw new IllegalArgumentException("Node limit must be positive");
+        }
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * @return whether the last search hit the node limit before it finished
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * @return the shortest forced mate in at most {@code maxMoves} moves, or
+     * a result with no mate if there is none
+     */
+    public MateResult solve(int maxMoves) {
+        if (maxMoves < 1 || maxMoves > MAX_MOVES) {
+            throw new IllegalArgumentException("Mate depth must be between 1 and " + MAX_MOVES);
+        }
+        long start = System.nanoTime();
+        nodes = 0;
+        stopped = false;
+        ensureTable(maxMoves);
+        table.newSearch();
+        for (int n = 1; n <= maxMoves && !stopped; n++) {
+            if (attack(n, 0)) {
+                List<ChessMove> line = line(n);
+                return new MateResult(n, line, true, nodes, (System.nanoTime() - start) / 1_000_000L);
+            }
+        }
+        return new MateResult(0, List.of(), !stopped, nodes, (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    /**
+     * Lists every first move that forces mate in at most {@code n} moves; a
+     * sound puzzle has exactly one. If the node limit runs out first the list
+     * may be missing some, see {@link #isStopped()}.
+     */
+    public List<ChessMove> keyMoves(int n) {
+        if (n < 1 || n > MAX_MOVES) {
+            throw new IllegalArgumentException("Mate depth must be between 1 and " + MAX_MOVES);
+        }
+        stopped = false;
+        ensureTable(n);
+        List<ChessMove> keys = new ArrayList<>();
+        int count = game.legalMoves(game.getTeamTurn(), moves[0]);
+        for (int i = 0; i < count; i++) {
+            int move = moves[0][i];
+            game.makeMoveUnchecked(move);
+            boolean mates = defend(n - 1, 1);
+            game.unmakeMove();
+            if (stopped) {
+                break;
+            }
+            if (mates) {
+                keys.add(Move.toChessMove(move));
+            }
+        }
+        return keys;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return true if the side to move mates in at most {@code n} moves
+     */
+    private boolean attack(int n, int ply) {
+        if (++nodes > nodeLimit) {
+            stopped = true;
+            return false;
+        }
+        long key = game.getPositionKey();
+        long entry = table.probe(key);
+        if (entry != 0) {
+            int depth = TranspositionTable.depth(entry);
+            int bound = TranspositionTable.bound(entry);
+            if ((bound == PROVEN && depth <= n) || (bound == DISPROVEN && depth >= n)) {
+                return bound == PROVEN;
+            }
+        }
+
+        ChessGame.TeamColor defender = opponent(game.getTeamTurn());
+        int[] list = moves[ply];
+        int count = game.legalMoves(game.getTeamTurn(), list);
+        int hashMove = entry == 0 ? Move.NONE : TranspositionTable.move(entry);
+        for (int i = 0; i < count; i++) {
+            if (hashMove != Move.NONE && Move.sameMove(list[i], hashMove)) {
+                int swap = list[0];
+                list[0] = list[i];
+                list[i] = swap;
+                break;
+            }
+        }
+
+        // Checks first; quiet moves are kept for a second pass when there is time for one
+        int quiet = 0;
+        for (int i = 0; i < count; i++) {
+            int move = list[i];
+            game.makeMoveUnchecked(move);
+            if (game.isInCheck(defender)) {
+                boolean mates = defend(n - 1, ply + 1);
+                game.unmakeMove();
+                if (stopped) {
+                    return false;
+                }
+                if (mates) {
+                    table.store(key, move, 0, n, PROVEN);
+                    return true;
+                }
+            } else {
+                game.unmakeMove();
+                if (n > 1) {
+                    list[quiet++] = move;
+                }
+            }
+        }
+        // Captures and promotions before the remaining quiet moves
+        int forcing = 0;
+        for (int i = 0; i < quiet; i++) {
+            if (Move.hasFlag(list[i], Move.CAPTURE) || Move.isPromotion(list[i])) {
+                int swap = list[forcing];
+                list[forcing++] = list[i];
+                list[i] = swap;
+            }
+        }
+        for (int i = 0; i < quiet; i++) {
+            int move = list[i];
+            game.makeMoveUnchecked(move);
+            boolean mates = defend(n - 1, ply + 1);
+            game.unmakeMove();
+            if (stopped) {
+                return false;
+            }
+            if (mates) {
+                table.store(key, move, 0, n, PROVEN);
+                return true;
+            }
+        }
+        table.store(key, Move.NONE, 0, n, DISPROVEN);
+        return false;
+    }
+
+    /**
+     * @return true if every move of the side to move is mated within {@code n} more attacking moves
+     */
+    private boolean defend(int n, int ply) {
+        if (++nodes > nodeLimit) {
+            stopped = true;
+            return false;
+        }
+        int[] list = moves[ply];
+        int count = game.legalMoves(game.getTeamTurn(), list);
+        if (count == 0) {
+            return game.isInCheck(game.getTeamTurn());
+        }
+        if (n == 0) {
+            return false;
+        }
+
+        int refutation = refutations[ply];
+        for (int i = 0; i < count; i++) {
+            if (Move.sameMove(list[i], refutation)) {
+                int swap = list[0];
+                list[0] = list[i];
+                list[i] = swap;
+                break;
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            int move = list[i];
+            game.makeMoveUnchecked(move);
+            boolean mated = attack(n, ply + 1);
+            game.unmakeMove();
+            if (stopped) {
+                return false;
+            }
+            if (!mated) {
+                refutations[ply] = move;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Plays out a proven mate in {@code n}: the attacker takes the fastest
+     * mate and the defender the reply that lasts longest. The mate is already
+     * proven, so the node limit does not apply.
+     */
+    private List<ChessMove> line(int n) {
+        long limit = nodeLimit;
+        nodeLimit = Long.MAX_VALUE;
+        List<ChessMove> line = new ArrayList<>();
+        int[] replies = new int[Move.MAX_MOVES];
+        int played = 0;
+        int left = n;
+        while (left > 0) {
+            int length = shortestMate(left);
+            int attack = legalMove(TranspositionTable.move(table.probe(game.getPositionKey())));
+            line.add(Move.toChessMove(attack));
+            game.makeMoveUnchecked(attack);
+            played++;
+            if (length == 1) {
+                break;
+            }
+
+            int count = game.legalMoves(game.getTeamTurn(), replies);
+            int best = replies[0];
+            int longest = 0;
+            for (int i = 0; i < count; i++) {
+                game.makeMoveUnchecked(replies[i]);
+                int resistance = shortestMate(length - 1);
+                game.unmakeMove();
+                if (resistance > longest) {
+                    best = replies[i];
+                    longest = resistance;
+                }
+            }
+            line.add(Move.toChessMove(best));
+            game.makeMoveUnchecked(best);
+            played++;
+            left = longest;
+        }
+        for (int i = 0; i < played; i++) {
+            game.unmakeMove();
+        }
+        nodeLimit = limit;
+        return line;
+    }
+
+    /**
+     * @return the length of the shortest mate, which must exist within
+     * {@code n} moves; the table then holds its first move
+     */
+    private int shortestMate(int n) {
+        for (int length = 1; length < n; length++) {
+            if (attack(length, 0)) {
+                return length;
+            }
+        }
+        attack(n, 0);
+        return n;
+    }
+
+    /**
+     * @return the legal move matching a move read back from the table, which
+     * keeps only the squares and promotion
+     */
+    private int legalMove(int move) {
+        int[] legal = new int[Move.MAX_MOVES];
+        int count = game.legalMoves(game.getTeamTurn(), legal);
+        for (int i = 0; i < count; i++) {
+            if (Move.sameMove(legal[i], move)) {
+                return legal[i];
+            }
+        }
+        throw new IllegalStateException("Mating move missing from the table");
+    }
+
+    /**
+     * Deeper mates visit many more positions, so the table doubles with each
+     * move of depth up to {@link #MAX_TABLE_MB}; shallow hints stay small.
+     */
+    private void ensureTable(int maxMoves) {
+        int megabytes = 1 << Math.min(maxMoves - 1, Integer.numberOfTrailingZeros(MAX_TABLE_MB));
+        if (table == null || tableMegabytes < megabytes) {
+            table = new TranspositionTable(megabytes);
+            tableMegabytes = megabytes;
+        }
+    }
+
+    private static ChessGame.TeamColor opponent(ChessGame.TeamColor team) {
+        return team == ChessGame.TeamColor.WHITE ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+    }
+}
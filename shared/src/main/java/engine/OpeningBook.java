@@ -0,0 +1,161 @@
+package engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.Move;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Read-only opening book backed by a memory-mapped file, so a large book
+ * costs no heap and is shared through the page cache by every process that
+ * maps it. The file is a 16-byte header followed by fixed-size entries sorted
+ * by position key, found by binary search:
+ * <pre>
+ *   header  int magic, int version, long entry count
+ *   entry   long {@link ChessGame#getPositionKey} key, int packed {@link Move}, int weight
+ * </pre>
+ * Entries for one key are stored heaviest first. Lookups use absolute reads
+ * only, so one book can serve any number of threads. Books are written by
+ * {@link OpeningBookBuilder}.
+ */
+public class OpeningBook implements Closeable {
+    static final int MAGIC = 0x43424F4B;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int ENTRY_BYTES = 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int size;
+
+    private OpeningBook(FileChannel channel, MappedByteBuffer buffer, int size) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.size = size;
+    }
+
+    public static OpeningBook open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long length = channel.size();
+            if (length < HEADER_BYTES || length > Integer.MAX_VALUE) {
+                throw new IOException("Not an opening book: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            long entries = buffer.getLong(8);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || entries < 0 || HEADER_BYTES + entries * ENTRY_BYTES != length) {
+                throw new IOException("Not an opening book: " + path);
+            }
+            return new OpeningBook(channel, buffer, (int) entries);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the book moves for the game's position that are legal in it,
+     * heaviest first, or an empty list if the position is not in the book
+     */
+    public List<BookEntry> lookup(ChessGame game) {
+        long key = game.getPositionKey();
+        List<BookEntry> entries = new ArrayList<>();
+        int[] legal = new int[Move.MAX_MOVES];
+        int count = -1;
+        for (int i = lowerBound(key); i < size && keyAt(i) == key; i++) {
+            if (count < 0) {
+                count = game.legalMoves(game.getTeamTurn(), legal);
+            }
+            // Keys can collide, so only moves that are legal here are trusted
+            int move = moveAt(i);
+            for (int j = 0; j < count; j++) {
+                if (Move.sameMove(legal[j], move)) {
+                    entries.add(new BookEntry(Move.toChessMove(move), weightAt(i)));
+                    break;
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * @return the most played book move, or null if the position is not in the book
+     */
+    public ChessMove bestMove(ChessGame game) {
+        List<BookEntry> entries = lookup(game);
+        return entries.isEmpty() ? null : entries.get(0).move();
+    }
+
+    /**
+     * Picks a book move at random in proportion to the weights, so bots vary
+     * their openings the way the source games did.
+     *
+     * @return the chosen move, or null if the position is not in the book
+     */
+    public ChessMove pickMove(ChessGame game, Random random) {
+        List<BookEntry> entries = lookup(game);
+        long total = 0;
+        for (BookEntry entry : entries) {
+            total += entry.weight();
+        }
+        if (total == 0) {
+            return null;
+        }
+        long pick = (long) (random.nextDouble() * total);
+        for (BookEntry entry : entries) {
+            pick -= entry.weight();
+            if (pick < 0) {
+                return entry.move();
+            }
+        }
+        return entries.get(entries.size() - 1).move();
+    }
+
+    /**
+     * @return the number of entries in the book
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int lowerBound(long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keyAt(mid) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private long keyAt(int index) {
+        return buffer.getLong(HEADER_BYTES + index * ENTRY_BYTES);
+    }
+
+    private int moveAt(int index) {
+        return buffer.getInt(HEADER_BYTES + index * ENTRY_BYTES + 8);
+    }
+
+    private int weightAt(int index) {
+        return buffer.getInt(HEADER_BYTES + index * ENTRY_BYTES + 12);
+    }
+}
@@ -0,0 +1,213 @@
+package engine;
+
+import chess.ChessGame;
+import chess.Move;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles an {@link OpeningBook} from PGN games. Every move played in the
+ * first {@code maxPlies} plies of a game counts one towards the weight of
+ * that move in that position. Tags, comments, variations and annotation
+ * glyphs are skipped; a game stops counting at the first move that cannot be
+ * read, and games that start from a custom position are not supported.
+ */
+public class OpeningBookBuilder {
+    public static final int DEFAULT_MAX_PLIES = 24;
+
+    private final int maxPlies;
+    private final Map<Long, Map<Integer, Integer>> weights = new HashMap<>();
+    private int games;
+
+    public OpeningBookBuilder(int maxPlies) {
+        this.maxPlies = maxPlies;
+    }
+
+    /**
+     * Compiles a book from PGN files: {@code OpeningBookBuilder <book> <pgn>...}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: OpeningBookBuilder <book> <pgn>...");
+            return;
+        }
+        OpeningBookBuilder builder = new OpeningBookBuilder(DEFAULT_MAX_PLIES);
+        for (int i = 1; i < args.length; i++) {
+            try (Reader reader = Files.newBufferedReader(Path.of(args[i]))) {
+                builder.addPgn(reader);
+            }
+        }
+        int entries = builder.write(Path.of(args[0]), 1);
+        System.out.printf("Wrote %d entries from %d games to %s%n", entries, builder.getGames(), args[0]);
+    }
+
+    /**
+     * Reads every game in a PGN stream.
+     *
+     * @return the number of games read
+     */
+    public int addPgn(Reader reader) throws IOException {
+        PgnGame current = new PgnGame();
+        int read = 0;
+        StringBuilder token = new StringBuilder();
+        int c = reader.read();
+        while (c != -1) {
+            if (c == '[' || c == '{' || c == ';' || c == '(' || Character.isWhitespace(c)) {
+                read += finishToken(token, current);
+                if (c == '[') {
+                    // Tags after moves start a new game even if the last one had no result
+                    if (current.plies > 0) {
+                        current.reset();
+                        read++;
+                    }
+                    skipPast(reader, ']');
+                } else if (c == '{') {
+                    skipPast(reader, '}');
+                } else if (c == ';') {
+                    skipPast(reader, '\n');
+                } else if (c == '(') {
+                    skipVariation(reader);
+                }
+            } else {
+                token.append((char) c);
+            }
+            c = reader.read();
+        }
+        read += finishToken(token, current);
+        if (current.plies > 0) {
+            read++;
+        }
+        games += read;
+        return read;
+    }
+
+    /**
+     * @return the number of games read so far
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * Writes the book, leaving out moves played fewer than {@code minWeight} times.
+     *
+     * @return the number of entries written
+     */
+    public int write(Path path, int minWeight) throws IOException {
+        List<long[]> entries = new ArrayList<>();
+        for (Map.Entry<Long, Map<Integer, Integer>> position : weights.entrySet()) {
+            for (Map.Entry<Integer, Integer> move : position.getValue().entrySet()) {
+                if (move.getValue() >= minWeight) {
+                    entries.add(new long[]{position.getKey(), move.getKey(), move.getValue()});
+                }
+            }
+        }
+        entries.sort(Comparator.<long[]>comparingLong(entry -> entry[0])
+                .thenComparing(Comparator.<long[]>comparingLong(entry -> entry[2]).reversed())
+                .thenComparingLong(entry -> entry[1]));
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(OpeningBook.MAGIC);
+            out.writeInt(OpeningBook.VERSION);
+            out.writeLong(entries.size());
+            for (long[] entry : entries) {
+                out.writeLong(entry[0]);
+                out.writeInt((int) entry[1]);
+                out.writeInt((int) entry[2]);
+            }
+        }
+        return entries.size();
+    }
+
+    /**
+     * Plays a finished token against the current game.
+     *
+     * @return 1 if the token was a game result, 0 otherwise
+     */
+    private int finishToken(StringBuilder token, PgnGame current) {
+        if (token.isEmpty()) {
+            return 0;
+        }
+        String text = token.toString();
+        token.setLength(0);
+        if (text.equals("1-0") || text.equals("0-1") || text.equals("1/2-1/2") || text.equals("*")) {
+            current.reset();
+            return 1;
+        }
+
+        // Move numbers may be glued to the move, as in "1.e4" or "3...Nf6"
+        int start = 0;
+        while (start < text.length() && Character.isDigit(text.charAt(start))) {
+            start++;
+        }
+        if (start < text.length() && text.charAt(start) == '.') {
+            while (start < text.length() && text.charAt(start) == '.') {
+                start++;
+            }
+        } else {
+            start = 0;
+        }
+        if (start == text.length() || text.charAt(start) == '$') {
+            return 0;
+        }
+
+        current.plies++;
+        if (current.stopped || current.plies > maxPlies) {
+            return 0;
+        }
+        ChessGame game = current.game;
+        int move = game.parseSan(text.substring(start));
+        if (move == Move.NONE) {
+            current.stopped = true;
+            return 0;
+        }
+        weights.computeIfAbsent(game.getPositionKey(), key -> new HashMap<>(4))
+                .merge(move, 1, Integer::sum);
+        game.makeMoveUnchecked(move);
+        return 0;
+    }
+
+    private static void skipPast(Reader reader, char end) throws IOException {
+        int c = reader.read();
+        while (c != -1 && c != end) {
+            c = reader.read();
+        }
+    }
+
+    private static void skipVariation(Reader reader) throws IOException {
+        int depth = 1;
+        int c = reader.read();
+        while (c != -1 && depth > 0) {
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '{') {
+                skipPast(reader, '}');
+            }
+            c = reader.read();
+        }
+    }
+
+    private static final class PgnGame {
+        ChessGame game = new ChessGame();
+        int plies;
+        boolean stopped;
+
+        void reset() {
+            game = new ChessGame();
+            plies = 0;
+            stopped = false;
+        }
+    }
+}
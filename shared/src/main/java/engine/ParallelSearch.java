@@ -0,0 +1,89 @@
+package engine;
+
+import chess.ChessGame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lazy SMP: every thread runs its own {@link Search} over its own copy of the
+ * game, and they cooperate only through one shared {@link TranspositionTable}.
+ * Helpers fill the table with results the main search then finds for free;
+ * half of them start one ply deeper so the threads drift apart instead of
+ * searching the same tree in lockstep. The calling thread runs the main
+ * search and its result is the one reported, with the node count of all
+ * threads. Helpers are stopped as soon as the main search finishes. One
+ * instance serves one search at a time, since its helpers and table are
+ * shared; {@link #search} is synchronized so concurrent callers wait.
+ */
+public class ParallelSearch implements AutoCloseable {
+    private final int threads;
+    private final TranspositionTable table;
+    private final ExecutorService helpers;
+
+    /**
+     * @param threads   the number of threads to search with, including the caller's
+     * @param megabytes the size of the shared transposition table
+     */
+    public ParallelSearch(int threads, int megabytes) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Search needs at least one thread");
+        }
+        this.threads = threads;
+        this.table = new TranspositionTable(megabytes);
+        AtomicInteger count = new AtomicInteger();
+        this.helpers = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "search-helper-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public synchronized SearchResult search(ChessGame game, long millis, int maxDepth) {
+        table.newSearch();
+        AtomicBoolean stop = new AtomicBoolean();
+        List<Future<SearchResult>> running = new ArrayList<>(threads - 1);
+        for (int i = 1; i < threads; i++) {
+            Search helper = new Search(game, table);
+            helper.setStopSignal(stop);
+            helper.setStartDepth(1 + (i & 1));
+            running.add(helpers.submit(() -> helper.search(millis, Search.MAX_PLY)));
+        }
+
+        SearchResult main = new Search(game, table).search(millis, maxDepth);
+        stop.set(true);
+
+        long nodes = main.nodes();
+        for (Future<SearchResult> future : running) {
+            try {
+                nodes += future.get().nodes();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Search helper failed", e.getCause());
+            }
+        }
+        return new SearchResult(main.bestMove(), main.score(), main.depth(), nodes, main.millis());
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    @Override
+    public void close() {
+        if (helpers != null) {
+            helpers.shutdownNow();
+        }
+    }
+}
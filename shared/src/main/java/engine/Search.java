@@ -0,0 +1,438 @@
+package engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.Move;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Iterative-deepening principal variation search over a private copy of a
+ * {@link ChessGame}. Moves are generated into per-ply buffers and played with
+ * make/unmake, so a search allocates nothing after construction.
+ * <p>
+ * Results are kept in a {@link TranspositionTable}, which bounds re-searched
+ * positions and supplies the best move found for them earlier. Leaves are
+ * resolved by a capture-only quiescence search. Moves are ordered table move
+ * first, then captures by most valuable victim and least valuable attacker,
+ * then two killer moves per ply, then by a history score of quiet moves that
+ * caused cutoffs. The time budget is checked every few
+ * thousand nodes; an interrupted iteration is discarded.
+ * <p>
+ * A search is single-threaded and not thread safe.
+ */
+public class Search {
+    public static final int MATE = 32000;
+    public static final int INFINITY = 32001;
+    public static final int MAX_PLY = 128;
+
+    private static final int CHECK_INTERVAL = 2047;
+    private static final int HASH_MOVE_SCORE = 2_000_000;
+    private static final int CAPTURE_SCORE = 1_000_000;
+    private static final int PROMOTION_SCORE = 950_000;
+    private static final int KILLER_SCORE = 900_000;
+    private static final int HISTORY_LIMIT = 500_000;
+    private static final int DEFAULT_TABLE_MB = 16;
+
+    private final ChessGame game;
+    private final TranspositionTable table;
+    private final boolean ownsTable;
+    private final int[][] moves = new int[MAX_PLY][Move.MAX_MOVES];
+    private final int[][] scores = new int[MAX_PLY][Move.MAX_MOVES];
+    private final int[][] killers = new int[MAX_PLY][2];
+    private final int[][] history = new int[12][64];
+
+    private long nodes;
+    private long deadline;
+    private boolean stopped;
+    private boolean canStop;
+    private int rootBest;
+    private int startDepth = 1;
+    private AtomicBoolean stopSignal;
+    private Tablebases tablebases;
+
+    public Search(ChessGame game) {
+        this(game, new TranspositionTable(DEFAULT_TABLE_MB), true);
+    }
+
+    /**
+     * @param table a table to read and fill, which may be shared with other
+     *              searches; its owner calls {@link TranspositionTable#newSearch}
+     */
+    public Search(ChessGame game, TranspositionTable table) {
+        this(game, table, false);
+    }
+
+    private Search(ChessGame game, TranspositionTable table, boolean ownsTable) {
+        this.game = new ChessGame(game);
+        this.table = table;
+        this.ownsTable = ownsTable;
+    }
+
+    /**
+     * Searches the position for the side to move, one ply deeper per
+     * iteration, until the depth limit is reached, a mate is found or the time
+     * budget runs out. The first iteration always completes.
+     */
+    public SearchResult search(long millis, int maxDepth) {
+        long start = System.nanoTime();
+        if (tablebases != null) {
+            TablebaseResult result = tablebases.probe(game);
+            ChessMove move = result == null ? null : tablebases.bestMove(game);
+            if (move != null) {
+                return new SearchResult(move, result.score(), 0, 0, (System.nanoTime() - start) / 1_000_000L);
+            }
+        }
+        deadline = start + millis * 1_000_000L;
+        nodes = 0;
+        stopped = false;
+        canStop = false;
+        if (ownsTable) {
+            table.newSearch();
+        }
+        for (int[] killer : killers) {
+            Arrays.fill(killer, Move.NONE);
+        }
+        for (int[] scores : history) {
+            Arrays.fill(scores, 0);
+        }
+
+        int bestMove = Move.NONE;
+        int bestScore = 0;
+        int completed = 0;
+        for (int depth = startDepth; depth <= Math.min(maxDepth, MAX_PLY / 2); depth++) {
+            int score = searchRoot(depth, bestMove);
+            if (stopped) {
+                break;
+            }
+            bestMove = rootBest;
+            bestScore = score;
+            completed = depth;
+            canStop = true;
+            long elapsed = System.nanoTime() - start;
+            if (bestMove == Move.NONE || Math.abs(score) >= MATE - MAX_PLY || elapsed > (deadline - start) / 2) {
+                break;
+            }
+        }
+
+        long millisTaken = (System.nanoTime() - start) / 1_000_000L;
+        return new SearchResult(bestMove == Move.NONE ? null : Move.toChessMove(bestMove),
+                bestScore, completed, nodes, millisTaken);
+    }
+
+    public SearchResult search(long millis) {
+        return search(millis, MAX_PLY);
+    }
+
+    private int searchRoot(int depth, int previousBest) {
+        ChessGame.TeamColor us = game.getTeamTurn();
+        int count = game.legalMoves(us, moves[0]);
+        rootBest = Move.NONE;
+        if (count == 0) {
+            return game.isInCheck(us) ? -MATE : 0;
+        }
+        long key = game.getPositionKey();
+        if (previousBest == Move.NONE) {
+            previousBest = TranspositionTable.move(table.probe(key));
+        }
+        scoreMoves(0, count, previousBest);
+
+        int alpha = -INFINITY;
+        int beta = INFINITY;
+        for (int i = 0; i < count; i++) {
+            int move = pickMove(0, i, count);
+            game.makeMoveUnchecked(move);
+            int score;
+            if (i == 0) {
+                score = -pvs(depth - 1, -beta, -alpha, 1);
+            } else {
+                score = -pvs(depth - 1, -alpha - 1, -alpha, 1);
+                if (score > alpha) {
+                    score = -pvs(depth - 1, -beta, -alpha, 1);
+                }
+            }
+            game.unmakeMove();
+            if (stopped) {
+                return alpha;
+            }
+            if (score > alpha) {
+                alpha = score;
+                rootBest = move;
+            }
+        }
+        table.store(key, rootBest, toTable(alpha, 0), depth, TranspositionTable.EXACT);
+        return alpha;
+    }
+
+    private int pvs(int depth, int alpha, int beta, int ply) {
+        if ((++nodes & CHECK_INTERVAL) == 0) {
+            checkTime();
+        }
+        if (stopped) {
+            return 0;
+        }
+        if (isDraw()) {
+            return 0;
+        }
+
+        ChessGame.TeamColor us = game.getTeamTurn();
+        boolean inCheck = game.isInCheck(us);
+        if (inCheck) {
+            depth++;
+        }
+        if (depth <= 0) {
+            return quiesce(alpha, beta, ply);
+        }
+        if (ply >= MAX_PLY - 1) {
+            return Evaluator.evaluate(game);
+        }
+
+        long key = game.getPositionKey();
+        long entry = table.probe(key);
+        int hashMove = TranspositionTable.move(entry);
+        if (entry != 0 && beta - alpha == 1 && TranspositionTable.depth(entry) >= depth) {
+            int score = fromTable(TranspositionTable.score(entry), ply);
+            int bound = TranspositionTable.bound(entry);
+            if (bound == TranspositionTable.EXACT
+                    || (bound == TranspositionTable.LOWER && score >= beta)
+                    || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                return score;
+            }
+        }
+
+        int[] list = moves[ply];
+        int count = game.legalMoves(us, list);
+        if (count == 0) {
+            return inCheck ? -MATE + ply : 0;
+        }
+        scoreMoves(ply, count, hashMove);
+
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = Move.NONE;
+        for (int i = 0; i < count; i++) {
+            int move = pickMove(ply, i, count);
+            game.makeMoveUnchecked(move);
+            int score;
+            if (i == 0) {
+                score = -pvs(depth - 1, -beta, -alpha, ply + 1);
+            } else {
+                score = -pvs(depth - 1, -alpha - 1, -alpha, ply + 1);
+                if (score > alpha && score < beta) {
+                    score = -pvs(depth - 1, -beta, -alpha, ply + 1);
+                }
+            }
+            game.unmakeMove();
+            if (stopped) {
+                return 0;
+            }
+
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        if (!isTactical(move)) {
+                            rememberQuietCutoff(move, depth, ply);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+
+        int bound = best >= beta ? TranspositionTable.LOWER
+                : best > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+        table.store(key, bound == TranspositionTable.UPPER ? Move.NONE : bestMove, toTable(best, ply), depth, bound);
+        return best;
+    }
+
+    /*
+     * Mate scores count plies from the root, but a table entry can be reached
+     * at any ply, so they are stored relative to the position itself.
+     */
+    private static int toTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) {
+            return score + ply;
+        }
+        return score <= -MATE + MAX_PLY ? score - ply : score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) {
+            return score - ply;
+        }
+        return score <= -MATE + MAX_PLY ? score + ply : score;
+    }
+
+    /**
+     * Searches captures and promotions until the position is quiet, so leaves
+     * are not scored in the middle of an exchange. When in check every evasion
+     * is searched, since standing pat is not an option.
+     */
+    private int quiesce(int alpha, int beta, int ply) {
+        if ((++nodes & CHECK_INTERVAL) == 0) {
+            checkTime();
+        }
+        if (stopped) {
+            return 0;
+        }
+        if (ply >= MAX_PLY - 1) {
+            return Evaluator.evaluate(game);
+        }
+
+        ChessGame.TeamColor us = game.getTeamTurn();
+        boolean inCheck = game.isInCheck(us);
+        int best = -INFINITY;
+        if (!inCheck) {
+            best = Evaluator.evaluate(game);
+            if (best >= beta) {
+                return best;
+            }
+            alpha = Math.max(alpha, best);
+        }
+
+        int[] list = moves[ply];
+        int count = game.legalMoves(us, list);
+        if (count == 0) {
+            return inCheck ? -MATE + ply : 0;
+        }
+        if (!inCheck) {
+            int tactical = 0;
+            for (int i = 0; i < count; i++) {
+                if (isTactical(list[i])) {
+                    list[tactical++] = list[i];
+                }
+            }
+            count = tactical;
+        }
+        scoreMoves(ply, count, Move.NONE);
+
+        for (int i = 0; i < count; i++) {
+            int move = pickMove(ply, i, count);
+            game.makeMoveUnchecked(move);
+            int score = -quiesce(-beta, -alpha, ply + 1);
+            game.unmakeMove();
+            if (stopped) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private boolean isDraw() {
+        return game.getHalfmoveClock() >= 100
+                || game.getBoard().hasInsufficientMaterial()
+                || game.getRepetitionCount() >= 2;
+    }
+
+    private static boolean isTactical(int move) {
+        return Move.hasFlag(move, Move.CAPTURE) || Move.isPromotion(move);
+    }
+
+    private void scoreMoves(int ply, int count, int hashMove) {
+        int[] list = moves[ply];
+        int[] values = scores[ply];
+        for (int i = 0; i < count; i++) {
+            int move = list[i];
+            int attacker = game.getBoard().getPieceIndex(Move.from(move));
+            if (hashMove != Move.NONE && Move.sameMove(move, hashMove)) {
+                values[i] = HASH_MOVE_SCORE;
+            } else if (Move.hasFlag(move, Move.CAPTURE)) {
+                int victim = Move.hasFlag(move, Move.EN_PASSANT)
+                        ? Evaluator.VALUES[5] : Evaluator.VALUES[game.getBoard().getPieceIndex(Move.to(move)) % 6];
+                values[i] = CAPTURE_SCORE + victim * 16 - Evaluator.VALUES[attacker % 6] / 16;
+            } else if (Move.isPromotion(move)) {
+                values[i] = PROMOTION_SCORE + Evaluator.VALUES[Move.promotion(move).ordinal()];
+            } else if (move == killers[ply][0]) {
+                values[i] = KILLER_SCORE;
+            } else if (move == killers[ply][1]) {
+                values[i] = KILLER_SCORE - 1;
+            } else {
+                values[i] = history[attacker][Move.to(move)];
+            }
+        }
+    }
+
+    /**
+     * Selection sort one step at a time: cutoffs usually come early, so fully
+     * sorting the list would mostly be wasted.
+     */
+    private int pickMove(int ply, int index, int count) {
+        int[] list = moves[ply];
+        int[] values = scores[ply];
+        int best = index;
+        for (int i = index + 1; i < count; i++) {
+            if (values[i] > values[best]) {
+                best = i;
+            }
+        }
+        int move = list[best];
+        list[best] = list[index];
+        list[index] = move;
+        int value = values[best];
+        values[best] = values[index];
+        values[index] = value;
+        return move;
+    }
+
+    private void rememberQuietCutoff(int move, int depth, int ply) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        int piece = game.getBoard().getPieceIndex(Move.from(move));
+        history[piece][Move.to(move)] += depth * depth;
+        if (history[piece][Move.to(move)] > HISTORY_LIMIT) {
+            for (int[] scores : history) {
+                for (int sq = 0; sq < 64; sq++) {
+                    scores[sq] /= 2;
+                }
+            }
+        }
+    }
+
+    private void checkTime() {
+        if ((canStop && System.nanoTime() - deadline > 0) || (stopSignal != null && stopSignal.get())) {
+            stopped = true;
+        }
+    }
+
+    /**
+     * Plays endings the tablebases cover straight from the tables, without searching.
+     */
+    public void setTablebases(Tablebases tablebases) {
+        this.tablebases = tablebases;
+    }
+
+    /**
+     * Makes this search begin iterating at a later depth, so parallel helpers
+     * spread over different depths instead of repeating each other's work.
+     */
+    void setStartDepth(int startDepth) {
+        this.startDepth = startDepth;
+    }
+
+    /**
+     * Lets another thread end this search early; the search stops within a
+     * few thousand nodes of the signal being set, even mid-iteration.
+     */
+    void setStopSignal(AtomicBoolean stopSignal) {
+        this.stopSignal = stopSignal;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+}
@@ -0,0 +1,24 @@
+package engine;
+
+import chess.ChessMove;
+
+/**
+ * The outcome of a {@link Search}.
+ *
+ * @param bestMove the best move found, or null if the side to move has no legal move
+ * @param score    the score of the best move in centipawns for the side to move; mates
+ *                 are reported as {@link Search#MATE} minus the distance in plies
+ * @param depth    the deepest iteration that completed
+ * @param nodes    the number of positions visited, including quiescence
+ * @param millis   the time the search took
+ */
+public record SearchResult(ChessMove bestMove, int score, int depth, long nodes, long millis) {
+
+    public boolean isMate() {
+        return Math.abs(score) >= Search.MATE - Search.MAX_PLY;
+    }
+
+    public long nodesPerSecond() {
+        return millis == 0 ? nodes * 1000 : nodes * 1000 / millis;
+    }
+}
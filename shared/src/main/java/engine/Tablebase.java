@@ -0,0 +1,349 @@
+package engine;
+
+import chess.Attacks;
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.Material;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An endgame tablebase for one ending of a lone king against a king and one
+ * or two pieces, holding the win/draw/loss result and the distance to mate of
+ * every position. Tables are solved by retrograde analysis: starting from the
+ * mates, each layer of lost positions is walked back one move to the won
+ * positions before it, and a position with the lone king to move is lost once
+ * every one of its moves leads to a won position. Whatever is left is drawn.
+ * <p>
+ * Tables are stored as one byte per position in a direct buffer, off the
+ * heap. The position index is perfect: side to move, strong king, lone king
+ * and each piece take six bits each, so a probe is a single read. The strong
+ * side is always white in the table; positions where it is black are probed
+ * with the board mirrored. The fifty-move rule is not taken into account, and
+ * positions with castling rights are not probed.
+ */
+public final class Tablebase {
+    public enum Ending {
+        KQK(ChessPiece.PieceType.QUEEN),
+        KRK(ChessPiece.PieceType.ROOK),
+        KPK(ChessPiece.PieceType.PAWN),
+        KBNK(ChessPiece.PieceType.BISHOP, ChessPiece.PieceType.KNIGHT);
+
+        private final ChessPiece.PieceType[] pieces;
+
+        Ending(ChessPiece.PieceType... pieces) {
+            this.pieces = pieces;
+        }
+
+        public int pieceCount() {
+            return pieces.length + 2;
+        }
+    }
+
+    private static final int WHITE = 0;
+    private static final int BLACK = 1;
+    // Byte values: DRAW until solved, ILLEGAL, or the distance to mate plus one
+    private static final byte DRAW = 0;
+    private static final byte ILLEGAL = -1;
+    private static final int MAX_DISTANCE = 252;
+    private static final byte NO_COUNT = -1;
+
+    private final Ending ending;
+    private final ChessPiece.PieceType[] pieces;
+    private final int size;
+    private final ByteBuffer values;
+    private final long whiteSignature;
+    private final long blackSignature;
+
+    private Tablebase(Ending ending) {
+        this.ending = ending;
+        this.pieces = ending.pieces;
+        this.size = 2 << (6 * ending.pieceCount());
+        this.values = ByteBuffer.allocateDirect(size);
+        long white = 0;
+        long black = 0;
+        for (ChessPiece.PieceType type : pieces) {
+            white += Material.unit(ChessPiece.index(ChessGame.TeamColor.WHITE, type));
+            black += Material.unit(ChessPiece.index(ChessGame.TeamColor.BLACK, type));
+        }
+        this.whiteSignature = white;
+        this.blackSignature = black;
+    }
+
+    /**
+     * Solves an ending. Pawn endings need the endings their pawn promotes to
+     * already solved in {@code solved}.
+     */
+    static Tablebase generate(Ending ending, Tablebases solved) {
+        Tablebase table = new Tablebase(ending);
+        table.solve(solved);
+        return table;
+    }
+
+    public Ending getEnding() {
+        return ending;
+    }
+
+    /**
+     * @return the number of positions in the table, including illegal ones
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the result for the side to move, or null if the game is not in this ending
+     */
+    public TablebaseResult probe(ChessGame game) {
+        ChessBoard board = game.getBoard();
+        long signature = board.getMaterialSignature();
+        boolean flip;
+        if (signature == whiteSignature) {
+            flip = false;
+        } else if (signature == blackSignature) {
+            flip = true;
+        } else {
+            return null;
+        }
+        if (game.getCastlingRights() != 0) {
+            return null;
+        }
+
+        ChessGame.TeamColor strong = flip ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+        ChessGame.TeamColor weak = flip ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK;
+        int mirror = flip ? 56 : 0;
+        int index = game.getTeamTurn() == strong ? WHITE : BLACK;
+        index = (index << 6) | (board.getKingSquare(strong) ^ mirror);
+        index = (index << 6) | (board.getKingSquare(weak) ^ mirror);
+        for (ChessPiece.PieceType type : pieces) {
+            index = (index << 6) | (Long.numberOfTrailingZeros(board.getPieces(strong, type)) ^ mirror);
+        }
+        return result(index);
+    }
+
+    /**
+     * @return the longest distance to mate with the winning side to move, in plies
+     */
+    int longestMate() {
+        int longest = 0;
+        for (int index = 0; index < size / 2; index++) {
+            byte value = values.get(index);
+            if (value != ILLEGAL) {
+                longest = Math.max(longest, (value & 0xFF) - 1);
+            }
+        }
+        return longest;
+    }
+
+    private TablebaseResult result(int index) {
+        byte value = values.get(index);
+        if (value == ILLEGAL) {
+            return null;
+        }
+        if (value == DRAW) {
+            return new TablebaseResult(TablebaseResult.Wdl.DRAW, 0);
+        }
+        TablebaseResult.Wdl wdl = index < size / 2 ? TablebaseResult.Wdl.WIN : TablebaseResult.Wdl.LOSS;
+        return new TablebaseResult(wdl, (value & 0xFF) - 1);
+    }
+
+    private void solve(Tablebases solved) {
+        int half = size / 2;
+        byte[] counts = new byte[half];
+        byte[] promotions = pieces[0] == ChessPiece.PieceType.PAWN ? new byte[half] : null;
+        int[] squares = new int[ending.pieceCount()];
+        int lastPromotion = -1;
+
+        for (int index = 0; index < size; index++) {
+            decode(index, squares);
+            int side = index < half ? WHITE : BLACK;
+            if (!isLegal(squares, side)) {
+                values.put(index, ILLEGAL);
+            } else if (side == BLACK) {
+                counts[index - half] = countEscapes(index, squares);
+            } else if (promotions != null) {
+                int distance = promotionDistance(squares, solved);
+                if (distance >= 0) {
+                    promotions[index] = (byte) (distance + 1);
+                    lastPromotion = Math.max(lastPromotion, distance);
+                }
+            }
+        }
+
+        for (int distance = 0; ; distance++) {
+            if (distance > MAX_DISTANCE) {
+                throw new IllegalStateException("Distance to mate out of range in " + ending);
+            }
+            byte current = (byte) (distance + 1);
+            byte next = (byte) (distance + 2);
+            if (promotions != null && distance <= lastPromotion) {
+                for (int index = 0; index < half; index++) {
+                    if (promotions[index] == current && values.get(index) == DRAW) {
+                        values.put(index, current);
+                    }
+                }
+            }
+
+            boolean found = false;
+            for (int index = 0; index < size; index++) {
+                if (values.get(index) != current) {
+                    continue;
+                }
+                found = true;
+                decode(index, squares);
+                long occupied = occupancy(squares);
+                if (index < half) {
+                    // Won for white: every lone king move that led here takes one escape away
+                    long from = Attacks.king(squares[1]) & ~occupied;
+                    for (; from != 0; from &= from - 1) {
+                        int previous = withSquare(index, 1, Long.numberOfTrailingZeros(from)) + half;
+                        if (values.get(previous) == DRAW && counts[previous - half] > 0
+                                && --counts[previous - half] == 0) {
+                            values.put(previous, next);
+                        }
+                    }
+                } else {
+                    // Lost for black: every white move that led here wins
+                    for (int piece = 0; piece < squares.length; piece++) {
+                        if (piece == 1) {
+                            continue;
+                        }
+                        long from = unmoves(piece, squares[piece], occupied) & ~occupied;
+                        for (; from != 0; from &= from - 1) {
+                            int previous = withSquare(index, piece, Long.numberOfTrailingZeros(from)) - half;
+                            if (values.get(previous) == DRAW) {
+                                values.put(previous, next);
+                            }
+                        }
+                    }
+                }
+            }
+            if (!found && distance >= lastPromotion) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sets up a lone king position: mates are lost at once, and positions
+     * where the king can take a piece are drawn for good.
+     *
+     * @return the number of lone king moves still to be proven lost
+     */
+    private byte countEscapes(int index, int[] squares) {
+        int king = squares[1];
+        long occupied = occupancy(squares);
+        long attacked = whiteAttacks(squares, occupied & ~(1L << king));
+        long moves = Attacks.king(king) & ~attacked;
+        if ((moves & occupied) != 0) {
+            return NO_COUNT;
+        }
+        if (moves == 0 && (attacked & (1L << king)) != 0) {
+            values.put(index, (byte) 1);
+        }
+        return (byte) Long.bitCount(moves);
+    }
+
+    /**
+     * @return the fastest win by promoting the pawn with white to move, in
+     * plies, or -1 if promoting does not win
+     */
+    private int promotionDistance(int[] squares, Tablebases solved) {
+        int pawn = squares[2];
+        int target = pawn + 8;
+        if (pawn < 48 || target == squares[0] || target == squares[1]) {
+            return -1;
+        }
+        int best = -1;
+        for (Ending promoted : new Ending[]{Ending.KQK, Ending.KRK}) {
+            Tablebase table = solved.get(promoted);
+            if (table == null) {
+                throw new IllegalStateException(ending + " needs " + promoted);
+            }
+            int index = (((BLACK << 6) | squares[0]) << 6 | squares[1]) << 6 | target;
+            TablebaseResult result = table.result(index);
+            if (result != null && result.wdl() == TablebaseResult.Wdl.LOSS
+                    && (best < 0 || result.distanceToMate() + 1 < best)) {
+                best = result.distanceToMate() + 1;
+            }
+        }
+        return best;
+    }
+
+    private boolean isLegal(int[] squares, int side) {
+        long occupied = occupancy(squares);
+        if (Long.bitCount(occupied) != squares.length) {
+            return false;
+        }
+        if ((Attacks.king(squares[0]) & (1L << squares[1])) != 0) {
+            return false;
+        }
+        for (int i = 0; i < pieces.length; i++) {
+            int row = squares[i + 2] >>> 3;
+            if (pieces[i] == ChessPiece.PieceType.PAWN && (row == 0 || row == 7)) {
+                return false;
+            }
+        }
+        return side == BLACK || (whiteAttacks(squares, occupied) & (1L << squares[1])) == 0;
+    }
+
+    private long whiteAttacks(int[] squares, long occupied) {
+        long attacks = Attacks.king(squares[0]);
+        for (int i = 0; i < pieces.length; i++) {
+            int square = squares[i + 2];
+            attacks |= switch (pieces[i]) {
+                case QUEEN -> Attacks.queen(square, occupied);
+                case ROOK -> Attacks.rook(square, occupied);
+                case BISHOP -> Attacks.bishop(square, occupied);
+                case KNIGHT -> Attacks.knight(square);
+                case PAWN -> Attacks.pawn(ChessGame.TeamColor.WHITE, square);
+                case KING -> Attacks.king(square);
+            };
+        }
+        return attacks;
+    }
+
+    /**
+     * @return the squares a white piece could have moved from to reach its square
+     */
+    private long unmoves(int piece, int square, long occupied) {
+        if (piece == 0) {
+            return Attacks.king(square);
+        }
+        return switch (pieces[piece - 2]) {
+            case QUEEN -> Attacks.queen(square, occupied);
+            case ROOK -> Attacks.rook(square, occupied);
+            case BISHOP -> Attacks.bishop(square, occupied);
+            case KNIGHT -> Attacks.knight(square);
+            case KING -> Attacks.king(square);
+            case PAWN -> {
+                long from = square >= 16 ? 1L << (square - 8) : 0;
+                if (square >>> 3 == 3 && (occupied & (1L << (square - 8))) == 0) {
+                    from |= 1L << (square - 16);
+                }
+                yield from;
+            }
+        };
+    }
+
+    private static long occupancy(int[] squares) {
+        long occupied = 0;
+        for (int square : squares) {
+            occupied |= 1L << square;
+        }
+        return occupied;
+    }
+
+    private void decode(int index, int[] squares) {
+        for (int i = squares.length - 1; i >= 0; i--) {
+            squares[i] = index & 63;
+            index >>>= 6;
+        }
+    }
+
+    private int withSquare(int index, int piece, int square) {
+        int shift = 6 * (ending.pieceCount() - 1 - piece);
+        return (index & ~(63 << shift)) | (square << shift);
+    }
+}
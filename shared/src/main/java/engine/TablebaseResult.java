@@ -0,0 +1,28 @@
+package engine;
+
+/**
+ * A {@link Tablebase} probe result.
+ *
+ * @param wdl            the result with best play for the side to move
+ * @param distanceToMate the number of plies to mate with best play, or 0 for a draw
+ */
+public record TablebaseResult(Wdl wdl, int distanceToMate) {
+
+    public enum Wdl {
+        WIN,
+        DRAW,
+        LOSS
+    }
+
+    /**
+     * @return the result as a {@link Search} score: mates are {@link Search#MATE}
+     * minus the distance in plies, draws are 0
+     */
+    public int score() {
+        return switch (wdl) {
+            case WIN -> Search.MATE - distanceToMate;
+            case LOSS -> -Search.MATE + distanceToMate;
+            case DRAW -> 0;
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.Move;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * A set of solved {@link Tablebase} endings, probed together. Bots and
+ * adjudication use it to play out covered endings perfectly and instantly
+ * instead of searching them.
+ */
+public class Tablebases {
+    private final Map<Tablebase.Ending, Tablebase> tables = new EnumMap<>(Tablebase.Ending.class);
+
+    private Tablebases() {}
+
+    /**
+     * Solves the given endings, along with the endings a pawn ending promotes
+     * into. Solving takes well under a second per one-piece ending and around
+     * ten seconds for KBNK.
+     */
+    public static Tablebases generate(Tablebase.Ending... endings) {
+        Tablebases tablebases = new Tablebases();
+        for (Tablebase.Ending ending : endings) {
+            if (ending == Tablebase.Ending.KPK) {
+                tablebases.add(Tablebase.Ending.KQK);
+                tablebases.add(Tablebase.Ending.KRK);
+            }
+            tablebases.add(ending);
+        }
+        return tablebases;
+    }
+
+    /**
+     * @return the table for an ending, or null if it was not generated
+     */
+    public Tablebase get(Tablebase.Ending ending) {
+        return tables.get(ending);
+    }
+
+    /**
+     * @return the result for the side to move, or null if no table covers the game
+     */
+    public TablebaseResult probe(ChessGame game) {
+        for (Tablebase table : tables.values()) {
+            TablebaseResult result = table.probe(game);
+            if (result != null) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Picks the move that keeps the best result: the fastest mate when
+     * winning, the longest resistance when losing and any move that holds the
+     * draw otherwise.
+     *
+     * @return the best move, or null if no table covers the game or it has no legal move
+     */
+    public ChessMove bestMove(ChessGame game) {
+        if (probe(game) == null) {
+            return null;
+        }
+        ChessGame copy = new ChessGame(game);
+        int[] moves = new int[Move.MAX_MOVES];
+        int count = copy.legalMoves(copy.getTeamTurn(), moves);
+        int best = Move.NONE;
+        int bestScore = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            copy.makeMoveUnchecked(moves[i]);
+            TablebaseResult reply = probe(copy);
+            if (reply == null && copy.getBoard().hasInsufficientMaterial()) {
+                reply = new TablebaseResult(TablebaseResult.Wdl.DRAW, 0);
+            }
+            copy.unmakeMove();
+            if (reply != null && -reply.score() > bestScore) {
+                best = moves[i];
+                bestScore = -reply.score();
+            }
+        }
+        return best == Move.NONE ? null : Move.toChessMove(best);
+    }
+
+    private void add(Tablebase.Ending ending) {
+        if (!tables.containsKey(ending)) {
+            tables.put(ending, Tablebase.generate(ending, this));
+        }
+    }
+}
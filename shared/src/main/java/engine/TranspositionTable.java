@@ -0,0 +1,129 @@
+package engine;
+
+import chess.Move;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size hash table of search results keyed by Zobrist position key,
+ * held in one {@code long[]} with two slots per entry: the key XOR the data,
+ * then the data. Entries are read and written without locks, so one table
+ * can be shared by any number of search threads; an entry torn by a racing
+ * write no longer XORs back to its key and is treated as a miss.
+ * <p>
+ * Data layout, low bits first:
+ * <pre>
+ *   bits  0-14  best move, the square and promotion bits of a {@link Move}
+ *   bits 16-31  score, a signed 16-bit value
+ *   bits 32-39  depth
+ *   bits 40-41  bound: exact, lower or upper
+ *   bits 42-49  generation of the search that stored it
+ * </pre>
+ */
+public class TranspositionTable {
+    public static final int EXACT = 1;
+    public static final int LOWER = 2;
+    public static final int UPPER = 3;
+
+    private static final int ENTRY_BYTES = 16;
+    private static final long MOVE_MASK = (1L << 15) - 1;
+
+    private final long[] table;
+    private final long indexMask;
+    private volatile int generation;
+
+    /**
+     * @param megabytes the memory to use, rounded down to a power-of-two entry count
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("Transposition table needs at least 1 MB");
+        }
+        long entries = Long.highestOneBit((long) megabytes * 1024 * 1024 / ENTRY_BYTES);
+        entries = Math.min(entries, 1L << 29);
+        table = new long[(int) entries * 2];
+        indexMask = entries - 1;
+    }
+
+    /**
+     * Marks the start of a new search, so entries left by older searches are
+     * replaced ahead of deeper but stale ones.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0L);
+    }
+
+    /**
+     * @return the entry's data for the key, or 0 if there is none
+     */
+    public long probe(long key) {
+        int slot = slot(key);
+        long data = table[slot + 1];
+        return (table[slot] ^ data) == key ? data : 0L;
+    }
+
+    public void store(long key, int move, int score, int depth, int bound) {
+        int slot = slot(key);
+        long existing = table[slot + 1];
+        boolean sameKey = (table[slot] ^ existing) == key;
+        if (sameKey || existing == 0 || generation(existing) != generation || depth >= depth(existing)) {
+            if (move == Move.NONE && sameKey) {
+                move = move(existing);
+            }
+            long data = (move & MOVE_MASK)
+                    | (((long) score & 0xFFFF) << 16)
+                    | ((long) Math.min(depth, 255) << 32)
+                    | ((long) bound << 40)
+                    | ((long) generation << 42);
+            table[slot] = key ^ data;
+            table[slot + 1] = data;
+        }
+    }
+
+    /**
+     * @return the permille of sampled entries written by the current search
+     */
+    public int hashfull() {
+        int sample = (int) Math.min(1000, indexMask + 1);
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            long data = table[i * 2 + 1];
+            if (data != 0 && generation(data) == generation) {
+                used++;
+            }
+        }
+        return used * 1000 / sample;
+    }
+
+    public long capacity() {
+        return indexMask + 1;
+    }
+
+    public static int move(long data) {
+        return (int) (data & MOVE_MASK);
+    }
+
+    public static int score(long data) {
+        return (short) (data >>> 16);
+    }
+
+    public static int depth(long data) {
+        return (int) (data >>> 32) & 0xFF;
+    }
+
+    public static int bound(long data) {
+        return (int) (data >>> 40) & 3;
+    }
+
+    private static int generation(long data) {
+        return (int) (data >>> 42) & 0xFF;
+    }
+
+    private int slot(long key) {
+        return (int) (key & indexMask) << 1;
+    }
+}
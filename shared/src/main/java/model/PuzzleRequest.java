@@ -0,0 +1,10 @@
+package model;
+
+/**
+ * Represents a request to check a game's position as a mate puzzle
+ *
+ * @param gameID the ID of the game holding the puzzle position
+ * @param moves  the number of moves the puzzle claims to mate in
+ */
+public record PuzzleRequest(Integer gameID, Integer moves) {
+}
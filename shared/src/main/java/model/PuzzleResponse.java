@@ -0,0 +1,14 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Represents the result of checking a mate puzzle.
+ *
+ * @param valid    whether the position mates in exactly the claimed moves with a single key move
+ * @param complete false if the check ran out of its search budget, leaving the puzzle unconfirmed
+ * @param mateIn   the shortest mate found within the claimed moves, or 0 if there is none
+ * @param solution the mating line in standard algebraic notation
+ */
+public record PuzzleResponse(boolean valid, boolean complete, int mateIn, List<String> solution) {
+}
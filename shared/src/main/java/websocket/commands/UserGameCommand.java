@@ -16,7 +16,9 @@ public class UserGameCommand {
         // New commands
         GET_VALID_MOVES,
         REDRAW,
-        HELP
+        HELP,
+        BOOK_MOVE,
+        FIND_MATE
     }
 
     private final CommandType commandType;
@@ -28,7 +30,7 @@ public class UserGameCommand {
     private final ChessMove move;
     private final ChessPosition position;
 
-    // Base ctor for no‐payload commands: CONNECT, LEAVE, RESIGN, REDRAW, HELP
+    // Base ctor for no‐payload commands: CONNECT, LEAVE, RESIGN, REDRAW, HELP, BOOK_MOVE, FIND_MATE
     public UserGameCommand(CommandType commandType, String authToken, Integer gameID) {
         this(commandType, authToken, gameID, null, null, null);
     }
@@ -0,0 +1,77 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class EvaluationTests {
+
+    @Test
+    @DisplayName("Start Position Is Balanced")
+    public void startPosition() {
+        ChessBoard board = new ChessBoard();
+        board.resetBoard();
+        Assertions.assertEquals(0, board.getEvaluation());
+        Assertions.assertEquals(PieceSquareTables.MAX_PHASE, board.getPhase());
+    }
+
+    @Test
+    @DisplayName("Incremental Scores Match A Rebuilt Board")
+    public void incrementalMatchesRebuild() {
+        ChessGame game = new ChessGame();
+        Random random = new Random(7);
+        int[] moves = new int[Move.MAX_MOVES];
+        int played = 0;
+        while (played < 200) {
+            int count = game.legalMoves(game.getTeamTurn(), moves);
+            if (count == 0) {
+                break;
+            }
+            game.makeMoveUnchecked(moves[random.nextInt(count)]);
+            played++;
+            assertMatchesRebuild(game.getBoard());
+        }
+        for (; played > 0; played--) {
+            game.unmakeMove();
+            assertMatchesRebuild(game.getBoard());
+        }
+        Assertions.assertEquals(0, game.getBoard().getEvaluation());
+    }
+
+    @Test
+    @DisplayName("Mirrored Positions Score Opposite")
+    public void mirrorSymmetry() {
+        ChessBoard board = new ChessBoard();
+        ChessBoard mirrored = new ChessBoard();
+        board.addPiece(ChessPosition.of(1, 7), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
+        board.addPiece(ChessPosition.of(8, 1), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
+        board.addPiece(ChessPosition.of(4, 5), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
+        board.addPiece(ChessPosition.of(6, 3), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+        for (int sq = 0; sq < 64; sq++) {
+            int index = board.getPieceIndex(sq);
+            if (index >= 0) {
+                ChessPiece piece = ChessPiece.fromIndex(index);
+                ChessGame.TeamColor other = piece.getTeamColor() == ChessGame.TeamColor.WHITE
+                        ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+                mirrored.addPiece(ChessPosition.of(sq ^ 56), ChessPiece.of(other, piece.getPieceType()));
+            }
+        }
+        Assertions.assertTrue(board.getEvaluation() > 0);
+        Assertions.assertEquals(-board.getEvaluation(), mirrored.getEvaluation());
+    }
+
+    private static void assertMatchesRebuild(ChessBoard board) {
+        ChessBoard rebuilt = new ChessBoard();
+        for (int sq = 0; sq < 64; sq++) {
+            int index = board.getPieceIndex(sq);
+            if (index >= 0) {
+                rebuilt.addPiece(ChessPosition.of(sq), ChessPiece.fromIndex(index));
+            }
+        }
+        Assertions.assertEquals(rebuilt.getMidgameScore(), board.getMidgameScore());
+        Assertions.assertEquals(rebuilt.getEndgameScore(), board.getEndgameScore());
+        Assertions.assertEquals(rebuilt.getPhase(), board.getPhase());
+    }
+}
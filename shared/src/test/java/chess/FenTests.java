@@ -0,0 +1,116 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class FenTests {
+    private static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    @Test
+    @DisplayName("Writes The Start Position")
+    public void startPosition() {
+        Assertions.assertEquals(START, new ChessGame().toFen());
+        Assertions.assertEquals(new ChessGame(), ChessGame.fromFen(START));
+        Assertions.assertEquals(new ChessGame().getPositionKey(), ChessGame.fromFen(START).getPositionKey());
+    }
+
+    @Test
+    @DisplayName("Round Trips Every Field")
+    public void roundTrip() {
+        String[] positions = {
+                KIWIPETE,
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                "rnbqkbnr/pp1ppppp/8/2pP4/8/8/PPP1PPPP/RNBQKBNR w Kq c6 0 3",
+                "r3k2r/8/8/8/8/8/8/4K3 b kq - 37 61",
+        };
+        for (String fen : positions) {
+            Assertions.assertEquals(fen, ChessGame.fromFen(fen).toFen());
+        }
+    }
+
+    @Test
+    @DisplayName("Reads Castling, En Passant And Clocks")
+    public void fields() {
+        ChessGame game = ChessGame.fromFen("rnbqkbnr/pp1ppppp/8/2pP4/8/8/PPP1PPPP/RNBQKBNR w Kq c6 4 3");
+        Assertions.assertEquals(ChessGame.TeamColor.WHITE, game.getTeamTurn());
+        Assertions.assertEquals(ChessGame.WHITE_KINGSIDE | ChessGame.BLACK_QUEENSIDE, game.getCastlingRights());
+        Assertions.assertEquals(ChessPosition.of(6, 3), game.getEnPassantSquare());
+        Assertions.assertEquals(4, game.getHalfmoveClock());
+        Assertions.assertEquals(3, game.getFullmoveNumber());
+        Assertions.assertTrue(game.validMoves(ChessPosition.of(5, 4))
+                .contains(ChessMove.of(ChessPosition.of(5, 4), ChessPosition.of(6, 3), null)));
+    }
+
+    @Test
+    @DisplayName("Only The Side To Move Captures En Passant")
+    public void enPassantSideToMove() {
+        ChessGame game = ChessGame.fromFen("4k3/8/8/2pP4/8/8/8/4K3 w - c6 0 2");
+        ChessMove capture = ChessMove.of(ChessPosition.of(5, 4), ChessPosition.of(6, 3), null);
+        Assertions.assertTrue(game.legalMoves(ChessGame.TeamColor.WHITE).contains(capture));
+        game.setTeamTurn(ChessGame.TeamColor.BLACK);
+        Assertions.assertFalse(game.legalMoves(ChessGame.TeamColor.WHITE).contains(capture));
+    }
+
+    @Test
+    @DisplayName("Leaves Off Clocks")
+    public void optionalClocks() {
+        ChessGame game = ChessGame.fromFen("4k3/8/8/8/8/8/8/4K2R w K -");
+        Assertions.assertEquals(0, game.getHalfmoveClock());
+        Assertions.assertEquals(1, game.getFullmoveNumber());
+        Assertions.assertEquals("4k3/8/8/8/8/8/8/4K2R w K - 0 1", game.toFen());
+    }
+
+    @Test
+    @DisplayName("Tracks Moves Played After Loading")
+    public void movesAfterLoading() throws InvalidMoveException {
+        ChessGame game = ChessGame.fromFen(START);
+        game.makeMove(ChessMove.of(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null));
+        Assertions.assertEquals("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1", game.toFen());
+        game.makeMove(ChessMove.of(ChessPosition.of(8, 7), ChessPosition.of(6, 6), null));
+        Assertions.assertEquals("rnbqkb1r/pppppppp/5n2/8/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 1 2", game.toFen());
+
+        int move = game.parseSan("Nc3");
+        game.makeMoveUnchecked(move);
+        Assertions.assertEquals(2, game.getFullmoveNumber());
+        game.unmakeMove();
+        Assertions.assertEquals("rnbqkb1r/pppppppp/5n2/8/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 1 2", game.toFen());
+    }
+
+    @Test
+    @DisplayName("Ignores Rights The Placement Does Not Allow")
+    public void impossibleRights() {
+        ChessGame game = ChessGame.fromFen("4k3/8/8/8/8/8/8/R3K3 w KQkq - 0 1");
+        Assertions.assertEquals(ChessGame.WHITE_QUEENSIDE, game.getCastlingRights());
+    }
+
+    @Test
+    @DisplayName("Rejects Malformed Positions")
+    public void malformed() {
+        String[] invalid = {
+                "",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP w KQkq - 0 1",
+                "rnbqkbnr/pppppppp/9/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                "rnbqkbnr/pppppppp/44/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                "rnbqkbnr/pppppppp/17/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                "rnbqkbnr/ppppxppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                "rnbq1bnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQ - 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR x KQkq - 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkx - 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq e4 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - zero 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1 extra",
+        };
+        for (String fen : invalid) {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> ChessGame.fromFen(fen), fen);
+        }
+    }
+
+    @Test
+    @DisplayName("Reads Any Char Sequence")
+    public void charSequence() {
+        StringBuilder text = new StringBuilder("game: ").append(KIWIPETE);
+        Assertions.assertEquals(KIWIPETE, ChessGame.fromFen(text.subSequence(6, text.length())).toFen());
+    }
+}
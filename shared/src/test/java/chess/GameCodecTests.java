@@ -0,0 +1,89 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class GameCodecTests {
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    @Test
+    @DisplayName("Round Trips The Start Position")
+    public void startPosition() {
+        byte[] data = GameCodec.encode(new ChessGame());
+        Assertions.assertEquals(GameCodec.VERSION, data[0]);
+        Assertions.assertEquals(43, data.length);
+
+        ChessGame game = GameCodec.decode(data);
+        Assertions.assertEquals(new ChessGame(), game);
+        Assertions.assertEquals(new ChessGame().getPositionKey(), game.getPositionKey());
+    }
+
+    @Test
+    @DisplayName("Round Trips Every FEN Field")
+    public void fenFields() {
+        String[] positions = {
+                KIWIPETE,
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                "rnbqkbnr/pp1ppppp/8/2pP4/8/8/PPP1PPPP/RNBQKBNR w Kq c6 0 3",
+                "r3k2r/8/8/8/8/8/8/4K3 b kq - 37 61",
+        };
+        for (String fen : positions) {
+            Assertions.assertEquals(fen, GameCodec.decode(GameCodec.encode(ChessGame.fromFen(fen))).toFen());
+        }
+    }
+
+    @Test
+    @DisplayName("Keeps Last Move And Result")
+    public void lastMoveAndResult() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        ChessMove move = ChessMove.of(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null);
+        game.makeMove(move);
+        game.setGameOver(true);
+        game.setWinner(ChessGame.TeamColor.WHITE);
+
+        ChessGame decoded = GameCodec.decode(GameCodec.encode(game));
+        Assertions.assertEquals(move, decoded.getLastMove());
+        Assertions.assertTrue(decoded.isGameOver());
+        Assertions.assertEquals(ChessGame.TeamColor.WHITE, decoded.getWinner());
+        Assertions.assertEquals(game.toFen(), decoded.toFen());
+    }
+
+    @Test
+    @DisplayName("Keeps Repetition History")
+    public void repetitionHistory() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        for (int i = 0; i < 2; i++) {
+            game.makeMove(ChessMove.of(ChessPosition.of(1, 7), ChessPosition.of(3, 6), null));
+            game.makeMove(ChessMove.of(ChessPosition.of(8, 7), ChessPosition.of(6, 6), null));
+            game.makeMove(ChessMove.of(ChessPosition.of(3, 6), ChessPosition.of(1, 7), null));
+            game.makeMove(ChessMove.of(ChessPosition.of(6, 6), ChessPosition.of(8, 7), null));
+        }
+        Assertions.assertTrue(game.isThreefoldRepetition());
+
+        ChessGame decoded = GameCodec.decode(GameCodec.encode(game));
+        Assertions.assertEquals(3, decoded.getRepetitionCount());
+        Assertions.assertEquals(game.getFullmoveNumber(), decoded.getFullmoveNumber());
+        Assertions.assertEquals(game.getHalfmoveClock(), decoded.getHalfmoveClock());
+    }
+
+    @Test
+    @DisplayName("Is Smaller Than FEN")
+    public void compact() {
+        ChessGame game = ChessGame.fromFen(KIWIPETE);
+        Assertions.assertTrue(GameCodec.encode(game).length < game.toFen().length());
+    }
+
+    @Test
+    @DisplayName("Rejects Unknown Versions And Corrupt Data")
+    public void rejectsBadData() {
+        byte[] data = GameCodec.encode(new ChessGame());
+        data[0] = (byte) (GameCodec.VERSION + 1);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(data));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(new byte[3]));
+
+        byte[] truncated = GameCodec.encode(new ChessGame());
+        truncated[42] = 1;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(truncated));
+    }
+}
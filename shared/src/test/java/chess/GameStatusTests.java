@@ -0,0 +1,174 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import passoff.chess.TestUtilities;
+
+import static chess.TestGames.createGame;
+import static chess.TestGames.move;
+
+public class GameStatusTests {
+
+    @Test
+    @DisplayName("Start Position Is Ongoing")
+    public void startPosition() {
+        Assertions.assertEquals(ChessGame.GameStatus.ONGOING, new ChessGame().getStatus(ChessGame.TeamColor.WHITE));
+    }
+
+    @Test
+    @DisplayName("Check With An Escape")
+    public void check() {
+        ChessGame game = createGame("""
+                | | | | |k| | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | |R| |K| |
+                """, ChessGame.TeamColor.BLACK);
+        Assertions.assertEquals(ChessGame.GameStatus.CHECK, game.getStatus(ChessGame.TeamColor.BLACK));
+    }
+
+    @Test
+    @DisplayName("Double Check Mate Despite A Capturing Piece")
+    public void doubleCheckmate() {
+        // The pawn could take the knight and the bishop could block, but only a king move answers a double check
+        ChessGame game = createGame("""
+                | | | |q|k|b| | |
+                | | | |p| |p|p| |
+                | | | | | |N| | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | |R| |K| |
+                """, ChessGame.TeamColor.BLACK);
+        Assertions.assertEquals(ChessGame.GameStatus.CHECKMATE, game.getStatus(ChessGame.TeamColor.BLACK));
+        Assertions.assertTrue(game.isInCheckmate(ChessGame.TeamColor.BLACK));
+    }
+
+    @Test
+    @DisplayName("Stalemate With A Pinned Piece")
+    public void pinnedStalemate() {
+        ChessGame game = createGame("""
+                |k| | | | | | | |
+                | |r| |N| | | | |
+                | |K| | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | |B|
+                """, ChessGame.TeamColor.BLACK);
+        Assertions.assertEquals(ChessGame.GameStatus.STALEMATE, game.getStatus(ChessGame.TeamColor.BLACK));
+        Assertions.assertTrue(game.isInStalemate(ChessGame.TeamColor.BLACK));
+    }
+
+    @Test
+    @DisplayName("Only Move Is A Capture")
+    public void onlyCapture() {
+        // The king is boxed in and the pawn is blocked, so exd3 en passant is all that is left
+        ChessGame game = ChessGame.fromFen("7k/5Q2/8/8/3Pp3/4P3/8/K7 b - d3 0 1");
+        Assertions.assertEquals(ChessGame.GameStatus.ONGOING, game.getStatus(ChessGame.TeamColor.BLACK));
+        ChessGame noEnPassant = ChessGame.fromFen("7k/5Q2/8/8/3Pp3/4P3/8/K7 b - - 0 1");
+        Assertions.assertEquals(ChessGame.GameStatus.STALEMATE, noEnPassant.getStatus(ChessGame.TeamColor.BLACK));
+        // Only the rook can answer the guarded queen's check, by taking it
+        ChessGame capture = ChessGame.fromFen("7k/r5Q1/6K1/8/8/8/8/8 b - - 0 1");
+        Assertions.assertEquals(ChessGame.GameStatus.CHECK, capture.getStatus(ChessGame.TeamColor.BLACK));
+    }
+
+    @Test
+    @DisplayName("Threefold Repetition")
+    public void threefoldRepetition() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        ChessMove[] shuffle = {move(1, 7, 3, 6), move(8, 7, 6, 6), move(3, 6, 1, 7), move(6, 6, 8, 7)};
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < shuffle.length; i++) {
+                MoveResult result = game.makeMove(shuffle[i]);
+                boolean last = round == 1 && i == shuffle.length - 1;
+                Assertions.assertEquals(last ? ChessGame.GameStatus.DRAW_REPETITION : ChessGame.GameStatus.ONGOING,
+                        result.status());
+            }
+        }
+        Assertions.assertEquals(3, game.getRepetitionCount());
+        Assertions.assertTrue(game.isGameOver());
+        Assertions.assertNull(game.getWinner());
+    }
+
+    @Test
+    @DisplayName("New Board Starts A Fresh History")
+    public void setBoardResetsHistory() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        ChessMove[] shuffle = {move(1, 7, 3, 6), move(8, 7, 6, 6), move(3, 6, 1, 7), move(6, 6, 8, 7)};
+        for (ChessMove m : shuffle) {
+            game.makeMove(m);
+        }
+        Assertions.assertEquals(2, game.getRepetitionCount());
+        game.setHalfmoveClock(99);
+
+        game.setBoard(TestUtilities.defaultBoard());
+        Assertions.assertEquals(1, game.getRepetitionCount());
+        Assertions.assertEquals(0, game.getHalfmoveClock());
+        Assertions.assertEquals(1, game.getFullmoveNumber());
+        Assertions.assertEquals(ChessGame.GameStatus.ONGOING, game.makeMove(shuffle[0]).status());
+        Assertions.assertEquals(1, game.getHalfmoveClock());
+    }
+
+    @Test
+    @DisplayName("Fifty Move Rule")
+    public void fiftyMoveRule() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.setHalfmoveClock(98);
+        Assertions.assertEquals(ChessGame.GameStatus.ONGOING, game.makeMove(move(1, 7, 3, 6)).status());
+        Assertions.assertEquals(ChessGame.GameStatus.DRAW_FIFTY_MOVES, game.makeMove(move(8, 7, 6, 6)).status());
+        Assertions.assertTrue(game.isGameOver());
+    }
+
+    @Test
+    @DisplayName("Insufficient Material")
+    public void insufficientMaterial() throws InvalidMoveException {
+        ChessGame game = createGame("""
+                | | | | |k| | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | |b| | |
+                | | | | | | | | |
+                | | | |R| | | | |
+                | | | | |K| | | |
+                """, ChessGame.TeamColor.BLACK);
+        Assertions.assertFalse(game.getBoard().hasInsufficientMaterial());
+
+        MoveResult result = game.makeMove(move(4, 6, 2, 4));
+        Assertions.assertEquals(ChessGame.GameStatus.DRAW_INSUFFICIENT_MATERIAL, result.status());
+        Assertions.assertTrue(game.isGameOver());
+        Assertions.assertNull(game.getWinner());
+    }
+
+    @Test
+    @DisplayName("Bishops On One Color")
+    public void sameColorBishops() {
+        ChessBoard board = TestUtilities.loadBoard("""
+                | | | | |k| | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | |b| | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | |K| | |B|
+                """);
+        // e4 and h1 are both light squares
+        Assertions.assertTrue(board.hasInsufficientMaterial());
+
+        board.addPiece(ChessPosition.of(1, 3), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
+        Assertions.assertFalse(board.hasInsufficientMaterial());
+
+        board.removePiece(ChessPosition.of(1, 3));
+        board.addPiece(ChessPosition.of(1, 2), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
+        Assertions.assertFalse(board.hasInsufficientMaterial());
+    }
+}
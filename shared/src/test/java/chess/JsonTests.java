@@ -0,0 +1,75 @@
+package chess;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class JsonTests {
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    @Test
+    @DisplayName("Writes The Board As Rows Of Pieces")
+    public void boardShape() {
+        String json = new Gson().toJson(new ChessGame().getBoard());
+        Assertions.assertTrue(json.startsWith("{\"board\":[[{\"color\":\"WHITE\",\"type\":\"ROOK\"}"), json);
+        Assertions.assertTrue(json.contains("[null,null,null,null,null,null,null,null]"), json);
+        Assertions.assertFalse(json.contains("pieceKey"), json);
+        Assertions.assertFalse(json.contains("occupied"), json);
+    }
+
+    @Test
+    @DisplayName("Rebuilds Derived Board State On Read")
+    public void rebuildsBoard() {
+        ChessBoard board = ChessGame.fromFen(KIWIPETE).getBoard();
+        ChessBoard read = new Gson().fromJson(new Gson().toJson(board), ChessBoard.class);
+        Assertions.assertEquals(board, read);
+        Assertions.assertEquals(board.getPieceKey(), read.getPieceKey());
+        Assertions.assertEquals(board.getOccupied(), read.getOccupied());
+        Assertions.assertEquals(board.getMaterialSignature(), read.getMaterialSignature());
+        Assertions.assertEquals(board.getEvaluation(), read.getEvaluation());
+    }
+
+    @Test
+    @DisplayName("Ignores Stale Derived Fields")
+    public void ignoresDerivedFields() {
+        String json = "{\"board\":[[null,null,null,null,{\"color\":\"WHITE\",\"type\":\"KING\"}]],"
+                + "\"occupied\":-1,\"pieceKey\":42}";
+        ChessBoard read = new Gson().fromJson(json, ChessBoard.class);
+        Assertions.assertEquals(Bitboards.bit(Bitboards.square(1, 5)), read.getOccupied());
+        Assertions.assertEquals(Bitboards.square(1, 5), read.getKingSquare(ChessGame.TeamColor.WHITE));
+    }
+
+    @Test
+    @DisplayName("Round Trips A Game")
+    public void gameRoundTrip() {
+        ChessGame game = ChessGame.fromFen(KIWIPETE);
+        ChessGame read = new Gson().fromJson(new Gson().toJson(game), ChessGame.class);
+        Assertions.assertEquals(game, read);
+        Assertions.assertEquals(game.getPositionKey(), read.getPositionKey());
+        Assertions.assertEquals(2039, Perft.perft(read, 2));
+    }
+
+    @Test
+    @DisplayName("Leaves Out The Position History")
+    public void leavesOutHistory() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.makeMove(ChessMove.of(ChessPosition.of(1, 7), ChessPosition.of(3, 6), null));
+        game.makeMove(ChessMove.of(ChessPosition.of(8, 7), ChessPosition.of(6, 6), null));
+        String json = new Gson().toJson(game);
+        Assertions.assertFalse(json.contains("keyHistory"), json);
+        Assertions.assertFalse(json.contains("historyPly"), json);
+
+        ChessGame read = new Gson().fromJson(json, ChessGame.class);
+        Assertions.assertEquals(game.getPositionKey(), read.getPositionKey());
+        Assertions.assertEquals(2, game.getFullmoveNumber());
+        Assertions.assertEquals(1, read.getFullmoveNumber());
+        Assertions.assertEquals(1, read.getRepetitionCount());
+        read.makeMove(ChessMove.of(ChessPosition.of(3, 6), ChessPosition.of(1, 7), null));
+        read.makeMove(ChessMove.of(ChessPosition.of(6, 6), ChessPosition.of(8, 7), null));
+        Assertions.assertEquals(1, read.getRepetitionCount());
+        read.makeMove(ChessMove.of(ChessPosition.of(1, 7), ChessPosition.of(3, 6), null));
+        read.makeMove(ChessMove.of(ChessPosition.of(8, 7), ChessPosition.of(6, 6), null));
+        Assertions.assertEquals(2, read.getRepetitionCount());
+    }
+}
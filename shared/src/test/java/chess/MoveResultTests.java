@@ -0,0 +1,78 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static chess.TestGames.createGame;
+import static chess.TestGames.move;
+
+public class MoveResultTests {
+
+    @Test
+    @DisplayName("Fool's Mate")
+    public void foolsMate() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        Assertions.assertEquals("f3", game.makeMove(move(2, 6, 3, 6)).san());
+        Assertions.assertEquals("e5", game.makeMove(move(7, 5, 5, 5)).san());
+        Assertions.assertEquals("g4", game.makeMove(move(2, 7, 4, 7)).san());
+
+        MoveResult mate = game.makeMove(move(8, 4, 4, 8));
+        Assertions.assertEquals("Qh4#", mate.san());
+        Assertions.assertEquals(ChessGame.GameStatus.CHECKMATE, mate.status());
+        Assertions.assertEquals(ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN), mate.piece());
+        Assertions.assertFalse(mate.isCapture());
+    }
+
+    @Test
+    @DisplayName("Castling, En Passant And Promotion")
+    public void specialMoves() throws InvalidMoveException {
+        ChessGame game = createGame("""
+                | | | | |k| | | |
+                | |P| |p| | | | |
+                | | | | | | | | |
+                | | | | |P| | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                |R| | | |K| | |R|
+                """, ChessGame.TeamColor.BLACK);
+        game.makeMove(move(7, 4, 5, 4));
+
+        MoveResult enPassant = game.makeMove(move(5, 5, 6, 4));
+        Assertions.assertEquals("exd6", enPassant.san());
+        Assertions.assertTrue(enPassant.enPassant());
+        Assertions.assertEquals(ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN), enPassant.captured());
+
+        game.makeMove(move(8, 5, 8, 4));
+        MoveResult castle = game.makeMove(move(1, 5, 1, 7));
+        Assertions.assertEquals("O-O", castle.san());
+        Assertions.assertTrue(castle.castle());
+
+        game.makeMove(move(8, 4, 7, 4));
+        MoveResult promotion = game.makeMove(ChessMove.of(ChessPosition.of(7, 2), ChessPosition.of(8, 2),
+                ChessPiece.PieceType.QUEEN));
+        Assertions.assertEquals("b8=Q", promotion.san());
+        Assertions.assertEquals(ChessPiece.PieceType.QUEEN, promotion.promotion());
+        Assertions.assertEquals(ChessGame.GameStatus.ONGOING, promotion.status());
+    }
+
+    @Test
+    @DisplayName("Disambiguation")
+    public void disambiguation() throws InvalidMoveException {
+        ChessGame game = createGame("""
+                | | | | |k| | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                |R| | | | | | |R|
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                |R| | | |K| | | |
+                """, ChessGame.TeamColor.WHITE);
+        // a5 and h5 share a rank, a5 and a1 share a file
+        Assertions.assertEquals("Rhe5+", new ChessGame(game).makeMove(move(5, 8, 5, 5)).san());
+        Assertions.assertEquals("R5a3", new ChessGame(game).makeMove(move(5, 1, 3, 1)).san());
+        Assertions.assertEquals("Rab5", new ChessGame(game).makeMove(move(5, 1, 5, 2)).san());
+    }
+}
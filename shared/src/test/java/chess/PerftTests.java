@@ -0,0 +1,130 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static chess.TestGames.createGame;
+
+/**
+ * Checks the move generator against published perft node counts
+ * (https://www.chessprogramming.org/Perft_Results). Depths are kept small
+ * enough for the regular test run.
+ */
+public class PerftTests {
+
+    @Test
+    @DisplayName("Initial Position")
+    public void initialPosition() {
+        ChessGame game = new ChessGame();
+        assertPerft(game, 1, 20);
+        assertPerft(game, 2, 400);
+        assertPerft(game, 3, 8902);
+        assertPerft(game, 4, 197281);
+    }
+
+    @Test
+    @DisplayName("Kiwipete")
+    public void kiwipete() {
+        ChessGame game = createGame("""
+                |r| | | |k| | |r|
+                |p| |p|p|q|p|b| |
+                |b|n| | |p|n|p| |
+                | | | |P|N| | | |
+                | |p| | |P| | | |
+                | | |N| | |Q| |p|
+                |P|P|P|B|B|P|P|P|
+                |R| | | |K| | |R|
+                """, ChessGame.TeamColor.WHITE);
+        assertPerft(game, 1, 48);
+        assertPerft(game, 2, 2039);
+        assertPerft(game, 3, 97862);
+    }
+
+    @Test
+    @DisplayName("En Passant Discovered Checks")
+    public void enPassantEdgeCases() {
+        ChessGame game = createGame("""
+                | | | | | | | | |
+                | | |p| | | | | |
+                | | | |p| | | | |
+                |K|P| | | | | |r|
+                | |R| | | |p| |k|
+                | | | | | | | | |
+                | | | | |P| |P| |
+                | | | | | | | | |
+                """, ChessGame.TeamColor.WHITE);
+        assertPerft(game, 1, 14);
+        assertPerft(game, 2, 191);
+        assertPerft(game, 3, 2812);
+        assertPerft(game, 4, 43238);
+    }
+
+    @Test
+    @DisplayName("Promotions and Castling Rights")
+    public void promotionEdgeCases() {
+        ChessGame game = createGame("""
+                |r| | | |k| | |r|
+                |P|p|p|p| |p|p|p|
+                | |b| | | |n|b|N|
+                |n|P| | | | | | |
+                |B|B|P| |P| | | |
+                |q| | | | |N| | |
+                |P|p| |P| | |P|P|
+                |R| | |Q| |R|K| |
+                """, ChessGame.TeamColor.WHITE);
+        assertPerft(game, 1, 6);
+        assertPerft(game, 2, 264);
+        assertPerft(game, 3, 9467);
+    }
+
+    @Test
+    @DisplayName("Promotion With Discovered Check")
+    public void promotionDiscoveredCheck() {
+        ChessGame game = createGame("""
+                |r|n|b|q| |k| |r|
+                |p|p| |P|b|p|p|p|
+                | | |p| | | | | |
+                | | | | | | | | |
+                | | |B| | | | | |
+                | | | | | | | | |
+                |P|P|P| |N|n|P|P|
+                |R|N|B|Q|K| | |R|
+                """, ChessGame.TeamColor.WHITE);
+        assertPerft(game, 1, 44);
+        assertPerft(game, 2, 1486);
+        assertPerft(game, 3, 62379);
+    }
+
+    @Test
+    @DisplayName("Divide Sums To Perft")
+    public void divideMatchesPerft() {
+        ChessGame game = new ChessGame();
+        long total = Perft.divide(game, 3).values().stream().mapToLong(Long::longValue).sum();
+        Assertions.assertEquals(20, Perft.divide(game, 3).size(), "Wrong number of root moves");
+        Assertions.assertEquals(8902, total, "Divide counts do not add up to the perft total");
+    }
+
+    @Test
+    @DisplayName("Parallel Matches Sequential")
+    public void parallel() {
+        ChessGame game = new ChessGame();
+        Assertions.assertEquals(197281, Perft.parallelPerft(game, 4));
+        Assertions.assertEquals(20, Perft.parallelPerft(game, 1));
+
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            Assertions.assertEquals(197281, Perft.parallelPerft(game, 4, 3, pool));
+            Assertions.assertEquals(8902, Perft.parallelPerft(game, 3, 0, pool));
+        } finally {
+            pool.shutdown();
+        }
+        Assertions.assertEquals(new ChessGame(), game);
+    }
+
+    private static void assertPerft(ChessGame game, int depth, long expected) {
+        Assertions.assertEquals(expected, Perft.perft(game, depth), "Wrong perft count at depth " + depth);
+    }
+}
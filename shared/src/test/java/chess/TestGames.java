@@ -0,0 +1,24 @@
+package chess;
+
+import passoff.chess.TestUtilities;
+
+/**
+ * Fixtures shared by the repo's own chess and engine tests.
+ */
+public final class TestGames {
+    private TestGames() {}
+
+    /**
+     * @return a game with the board drawn as in {@link TestUtilities#loadBoard} and the given side to move
+     */
+    public static ChessGame createGame(String boardText, ChessGame.TeamColor turn) {
+        ChessGame game = new ChessGame();
+        game.setBoard(TestUtilities.loadBoard(boardText));
+        game.setTeamTurn(turn);
+        return game;
+    }
+
+    public static ChessMove move(int startRow, int startCol, int endRow, int endCol) {
+        return ChessMove.of(ChessPosition.of(startRow, startCol), ChessPosition.of(endRow, endCol), null);
+    }
+}
@@ -0,0 +1,112 @@
+package engine;
+
+import chess.ChessGame;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static chess.TestGames.createGame;
+import static chess.TestGames.move;
+
+public class MateSolverTests {
+    // Nf7+ Kg8 Nh6+ Kh8 Qg8+ Rxg8 Nf7#, the smothered mate
+    private static final String SMOTHERED = """
+            |r| |b| |r| | |k|
+            |p|p| | | | |p|p|
+            | | |n|p| | | | |
+            |q| | | | | |N| |
+            | | |Q|P| | | | |
+            | | | | |B| | | |
+            |P|P| | | |P|P|P|
+            |R| | | | |R| |K|
+            """;
+
+    @Test
+    @DisplayName("Finds Mate In One")
+    public void mateInOne() {
+        ChessGame game = createGame("""
+                | | | | | | |k| |
+                | | | | | |p|p|p|
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | |P|P|P|
+                | | | |R| | |K| |
+                """, ChessGame.TeamColor.WHITE);
+        MateResult result = new MateSolver(game).solve(3);
+        Assertions.assertEquals(1, result.moves());
+        Assertions.assertEquals(List.of(move(1, 4, 8, 4)), result.line());
+    }
+
+    @Test
+    @DisplayName("Solves Smothered Mate In Four Quickly")
+    public void smotheredMate() {
+        ChessGame game = createGame(SMOTHERED, ChessGame.TeamColor.WHITE);
+        MateResult result = Assertions.assertTimeoutPreemptively(Duration.ofSeconds(1),
+                () -> new MateSolver(game).solve(4));
+        Assertions.assertEquals(4, result.moves());
+        Assertions.assertEquals(List.of(
+                move(5, 7, 7, 6), move(8, 8, 8, 7),
+                move(7, 6, 6, 8), move(8, 7, 8, 8),
+                move(4, 3, 8, 7), move(8, 5, 8, 7),
+                move(6, 8, 7, 6)), result.line());
+    }
+
+    @Test
+    @DisplayName("Finds The Unique Key Move")
+    public void keyMoves() {
+        ChessGame game = createGame(SMOTHERED, ChessGame.TeamColor.WHITE);
+        MateSolver solver = new MateSolver(game);
+        Assertions.assertEquals(List.of(move(5, 7, 7, 6)), solver.keyMoves(4));
+        Assertions.assertTrue(solver.keyMoves(3).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Reports No Mate Beyond The Limit")
+    public void noMate() {
+        ChessGame game = createGame(SMOTHERED, ChessGame.TeamColor.WHITE);
+        MateResult result = new MateSolver(game).solve(3);
+        Assertions.assertFalse(result.isFound());
+        Assertions.assertNull(result.keyMove());
+        Assertions.assertFalse(new MateSolver(new ChessGame()).solve(2).isFound());
+    }
+
+    @Test
+    @DisplayName("Gives Up At The Node Limit")
+    public void nodeLimit() {
+        ChessGame game = createGame(SMOTHERED, ChessGame.TeamColor.WHITE);
+        MateSolver solver = new MateSolver(game);
+        solver.setNodeLimit(500);
+        MateResult result = solver.solve(4);
+        Assertions.assertFalse(result.isFound());
+        Assertions.assertFalse(result.complete());
+        Assertions.assertTrue(solver.isStopped());
+        Assertions.assertTrue(result.nodes() <= 501);
+
+        MateSolver unlimited = new MateSolver(game);
+        Assertions.assertTrue(unlimited.solve(4).complete());
+        Assertions.assertFalse(unlimited.isStopped());
+    }
+
+    @Test
+    @DisplayName("Agrees With The Tablebase")
+    public void tablebaseAgreement() {
+        ChessGame game = createGame("""
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | |k|
+                | | | | |K| | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | |R| |
+                """, ChessGame.TeamColor.WHITE);
+        TablebaseResult expected = Tablebases.generate(Tablebase.Ending.KRK).probe(game);
+        Assertions.assertEquals(new TablebaseResult(TablebaseResult.Wdl.WIN, 7), expected);
+        Assertions.assertEquals(4, new MateSolver(game).solve(5).moves());
+    }
+}
@@ -0,0 +1,135 @@
+package engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.Move;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static chess.TestGames.move;
+
+public class OpeningBookTests {
+    private static final String PGN = """
+            [Event "One"]
+            [Result "1-0"]
+
+            1. e4 e5 {the open game} 2. Nf3 (2. f4 exf4) Nc6 3. Bb5 a6 1-0
+
+            [Event "Two"]
+            [Result "0-1"]
+
+            1.e4 c5 $1 2.Nf3 d6 3.d4 cxd4 0-1
+
+            [Event "Three"]
+
+            1. d4 d5 2. c4 e6 ; queen's gambit declined
+            3. Nc3 Nf6 1/2-1/2
+
+            [Event "Four"]
+
+            1. e4 e5 2. Nf3 Nc6 3. Bc4 Bc5 4. O-O Nf6 *
+            """;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Counts Moves Across Games")
+    public void weights() throws IOException {
+        try (OpeningBook book = build(20, 1)) {
+            List<BookEntry> entries = book.lookup(new ChessGame());
+            Assertions.assertEquals(2, entries.size());
+            Assertions.assertEquals(new BookEntry(move(2, 5, 4, 5), 3), entries.get(0));
+            Assertions.assertEquals(new BookEntry(move(2, 4, 4, 4), 1), entries.get(1));
+            Assertions.assertEquals(move(2, 5, 4, 5), book.bestMove(new ChessGame()));
+        }
+    }
+
+    @Test
+    @DisplayName("Skips Comments And Variations")
+    public void variations() throws IOException {
+        try (OpeningBook book = build(20, 1)) {
+            ChessGame game = play("e4", "e5");
+            List<BookEntry> entries = book.lookup(game);
+            Assertions.assertEquals(List.of(new BookEntry(move(1, 7, 3, 6), 2)), entries);
+
+            game = play("e4", "e5", "Nf3", "Nc6");
+            Assertions.assertEquals(2, book.lookup(game).size());
+        }
+    }
+
+    @Test
+    @DisplayName("Finds Transposed Positions")
+    public void castlingAndTranspositions() throws IOException {
+        try (OpeningBook book = build(20, 1)) {
+            ChessGame game = play("e4", "e5", "Nf3", "Nc6", "Bc4", "Bc5", "O-O");
+            Assertions.assertEquals(move(8, 7, 6, 6), book.bestMove(game));
+        }
+    }
+
+    @Test
+    @DisplayName("Stops At The Ply Limit")
+    public void plyLimit() throws IOException {
+        try (OpeningBook book = build(2, 1)) {
+            Assertions.assertEquals(2, book.lookup(play("e4")).size());
+            Assertions.assertNull(book.bestMove(play("e4", "e5")));
+        }
+    }
+
+    @Test
+    @DisplayName("Drops Rare Moves")
+    public void minimumWeight() throws IOException {
+        try (OpeningBook book = build(20, 2)) {
+            Assertions.assertEquals(List.of(new BookEntry(move(2, 5, 4, 5), 3)), book.lookup(new ChessGame()));
+            Assertions.assertNull(book.bestMove(play("d4")));
+        }
+    }
+
+    @Test
+    @DisplayName("Picks Only Book Moves")
+    public void weightedPick() throws IOException {
+        try (OpeningBook book = build(20, 1)) {
+            Random random = new Random(1);
+            for (int i = 0; i < 50; i++) {
+                ChessMove pick = book.pickMove(new ChessGame(), random);
+                Assertions.assertTrue(pick.equals(move(2, 5, 4, 5)) || pick.equals(move(2, 4, 4, 4)));
+            }
+            Assertions.assertNull(book.pickMove(play("a3"), random));
+        }
+    }
+
+    @Test
+    @DisplayName("Rejects Files That Are Not Books")
+    public void badFile() throws IOException {
+        Path path = directory.resolve("bad.bin");
+        Files.write(path, new byte[40]);
+        Assertions.assertThrows(IOException.class, () -> OpeningBook.open(path));
+    }
+
+    private OpeningBook build(int maxPlies, int minWeight) throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(maxPlies);
+        Assertions.assertEquals(4, builder.addPgn(new StringReader(PGN)));
+        Path path = directory.resolve("book.bin");
+        builder.write(path, minWeight);
+        return OpeningBook.open(path);
+    }
+
+    private static ChessGame play(String... moves) {
+        ChessGame game = new ChessGame();
+        for (String san : moves) {
+            int move = game.parseSan(san);
+            Assertions.assertNotEquals(Move.NONE, move, san);
+            game.makeMoveUnchecked(move);
+        }
+        return game;
+    }
+}
@@ -0,0 +1,53 @@
+package engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import passoff.chess.TestUtilities;
+
+public class ParallelSearchTests {
+
+    @Test
+    @DisplayName("Helpers Agree On Forced Mate")
+    public void mateWithHelpers() {
+        ChessGame game = new ChessGame();
+        game.setBoard(TestUtilities.loadBoard("""
+                | | |r| |r| |k| |
+                | | | | | |p|p|p|
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | |R|P|P|P|
+                | | | | |R| |K| |
+                """));
+        try (ParallelSearch search = new ParallelSearch(4, 4)) {
+            SearchResult result = search.search(game, 10_000, 5);
+            Assertions.assertEquals(ChessMove.of(ChessPosition.of(2, 5), ChessPosition.of(8, 5), null),
+                    result.bestMove());
+            Assertions.assertEquals(Search.MATE - 3, result.score());
+        }
+    }
+
+    @Test
+    @DisplayName("Reuses Threads Across Searches")
+    public void repeatedSearches() {
+        try (ParallelSearch search = new ParallelSearch(3, 4)) {
+            ChessGame game = new ChessGame();
+            for (int i = 0; i < 3; i++) {
+                SearchResult result = search.search(game, 5_000, 4);
+                Assertions.assertNotNull(result.bestMove());
+                Assertions.assertEquals(4, result.depth());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Needs A Thread")
+    public void rejectsZeroThreads() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ParallelSearch(0, 4));
+    }
+}
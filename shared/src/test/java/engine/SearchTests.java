@@ -0,0 +1,97 @@
+package engine;
+
+import chess.ChessGame;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static chess.TestGames.createGame;
+import static chess.TestGames.move;
+
+public class SearchTests {
+
+    @Test
+    @DisplayName("Finds Back Rank Mate")
+    public void mateInOne() {
+        ChessGame game = createGame("""
+                | | | | | | |k| |
+                | | | | | |p|p|p|
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | |P|P|P|
+                | | | |R| | |K| |
+                """, ChessGame.TeamColor.WHITE);
+        SearchResult result = new Search(game).search(5_000, 3);
+        Assertions.assertEquals(move(1, 4, 8, 4), result.bestMove());
+        Assertions.assertEquals(Search.MATE - 1, result.score());
+        Assertions.assertTrue(result.isMate());
+    }
+
+    @Test
+    @DisplayName("Finds Mate In Two")
+    public void mateInTwo() {
+        // Both black rooks guard the back rank, so only Rxe8+ Rxe8 Rxe8# mates
+        ChessGame game = createGame("""
+                | | |r| |r| |k| |
+                | | | | | |p|p|p|
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | |R|P|P|P|
+                | | | | |R| |K| |
+                """, ChessGame.TeamColor.WHITE);
+        SearchResult result = new Search(game).search(10_000, 5);
+        Assertions.assertEquals(move(2, 5, 8, 5), result.bestMove());
+        Assertions.assertEquals(Search.MATE - 3, result.score());
+    }
+
+    @Test
+    @DisplayName("Takes Hanging Queen")
+    public void winsMaterial() {
+        ChessGame game = createGame("""
+                |r| |b| |k| |n|r|
+                |p|p|p|p| |p|p|p|
+                | | |n| | | | | |
+                | | | | |p| |q| |
+                | | | | |P| | | |
+                | | | | | |N| | |
+                |P|P|P|P| |P|P|P|
+                |R|N|B|Q|K|B| |R|
+                """, ChessGame.TeamColor.WHITE);
+        SearchResult result = new Search(game).search(5_000, 4);
+        Assertions.assertEquals(move(3, 6, 5, 7), result.bestMove());
+        Assertions.assertTrue(result.score() > 500);
+    }
+
+    @Test
+    @DisplayName("Leaves Caller's Game Untouched")
+    public void searchesACopy() {
+        ChessGame game = new ChessGame();
+        long key = game.getPositionKey();
+        SearchResult result = new Search(game).search(5_000, 4);
+        Assertions.assertNotNull(result.bestMove());
+        Assertions.assertEquals(4, result.depth());
+        Assertions.assertEquals(key, game.getPositionKey());
+    }
+
+    @Test
+    @DisplayName("No Move When Stalemated")
+    public void noLegalMoves() {
+        ChessGame game = createGame("""
+                |k| | | | | | | |
+                | | |Q| | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | |K|
+                """, ChessGame.TeamColor.BLACK);
+        SearchResult result = new Search(game).search(1_000, 4);
+        Assertions.assertNull(result.bestMove());
+        Assertions.assertEquals(0, result.score());
+    }
+}
@@ -0,0 +1,183 @@
+package engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static chess.TestGames.createGame;
+import static chess.TestGames.move;
+
+public class TablebaseTests {
+    private static Tablebases tablebases;
+
+    @BeforeAll
+    public static void generate() {
+        tablebases = Tablebases.generate(Tablebase.Ending.KPK);
+    }
+
+    @Test
+    @DisplayName("Solves Longest Mates")
+    public void longestMates() {
+        // Ten moves for the queen and sixteen for the rook, counted in plies from the winning side
+        Assertions.assertEquals(19, tablebases.get(Tablebase.Ending.KQK).longestMate());
+        Assertions.assertEquals(31, tablebases.get(Tablebase.Ending.KRK).longestMate());
+    }
+
+    @Test
+    @DisplayName("Solves Knight And Bishop Mate")
+    public void knightAndBishop() {
+        // Generated on its own since it is by far the largest table, about 5 seconds
+        Tablebases kbnk = Tablebases.generate(Tablebase.Ending.KBNK);
+        Assertions.assertEquals(65, kbnk.get(Tablebase.Ending.KBNK).longestMate());
+
+        // The dark-squared bishop mates in the dark h8 corner
+        ChessGame game = ChessGame.fromFen("7k/8/6KN/8/8/8/8/4B3 w - - 0 1");
+        Assertions.assertEquals(new TablebaseResult(TablebaseResult.Wdl.WIN, 1), kbnk.probe(game));
+        Assertions.assertEquals(move(1, 5, 3, 3), kbnk.bestMove(game));
+    }
+
+    @Test
+    @DisplayName("Finds Queen Mate")
+    public void queenMate() {
+        ChessGame game = createGame("""
+                |k| | | | | | | |
+                | | | | | | | | |
+                | |K| | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | |Q| | | | | |
+                """, ChessGame.TeamColor.WHITE);
+        Assertions.assertEquals(new TablebaseResult(TablebaseResult.Wdl.WIN, 1), tablebases.probe(game));
+        Assertions.assertEquals(move(1, 3, 8, 3), tablebases.bestMove(game));
+    }
+
+    @Test
+    @DisplayName("Probes Black Winning Side Mirrored")
+    public void mirrored() {
+        ChessGame game = createGame("""
+                | | |q| | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | |k| | | | | | |
+                | | | | | | | | |
+                |K| | | | | | | |
+                """, ChessGame.TeamColor.BLACK);
+        Assertions.assertEquals(new TablebaseResult(TablebaseResult.Wdl.WIN, 1), tablebases.probe(game));
+        Assertions.assertEquals(move(8, 3, 1, 3), tablebases.bestMove(game));
+
+        game.setTeamTurn(ChessGame.TeamColor.WHITE);
+        TablebaseResult result = tablebases.probe(game);
+        Assertions.assertEquals(TablebaseResult.Wdl.LOSS, result.wdl());
+    }
+
+    @Test
+    @DisplayName("Draws When The Queen Hangs")
+    public void hangingQueen() {
+        ChessGame game = createGame("""
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | |k| | | | |
+                | | | |Q| | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                |K| | | | | | | |
+                """, ChessGame.TeamColor.BLACK);
+        Assertions.assertEquals(new TablebaseResult(TablebaseResult.Wdl.DRAW, 0), tablebases.probe(game));
+    }
+
+    @Test
+    @DisplayName("Wins With King In Front Of Pawn")
+    public void pawnWins() {
+        ChessGame game = createGame("""
+                | | | | |k| | | |
+                | | | | | | | | |
+                | | | | |K| | | |
+                | | | | |P| | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                """, ChessGame.TeamColor.BLACK);
+        Assertions.assertEquals(TablebaseResult.Wdl.LOSS, tablebases.probe(game).wdl());
+        game.setTeamTurn(ChessGame.TeamColor.WHITE);
+        Assertions.assertEquals(TablebaseResult.Wdl.WIN, tablebases.probe(game).wdl());
+    }
+
+    @Test
+    @DisplayName("Draws Rook Pawn Against Cornered King")
+    public void rookPawnDraws() {
+        ChessGame game = createGame("""
+                | | | | | | | |k|
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | |P|
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                |K| | | | | | | |
+                """, ChessGame.TeamColor.WHITE);
+        Assertions.assertEquals(new TablebaseResult(TablebaseResult.Wdl.DRAW, 0), tablebases.probe(game));
+    }
+
+    @Test
+    @DisplayName("Leaves Other Material To Search")
+    public void notCovered() {
+        Assertions.assertNull(tablebases.probe(new ChessGame()));
+        Assertions.assertNull(tablebases.bestMove(new ChessGame()));
+    }
+
+    @Test
+    @DisplayName("Search Plays Tablebase Moves")
+    public void searchUsesTables() {
+        ChessGame game = createGame("""
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | |k| | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | |R| |
+                | |K| | | | | | |
+                """, ChessGame.TeamColor.WHITE);
+        Search search = new Search(game);
+        search.setTablebases(tablebases);
+        SearchResult result = search.search(5_000);
+        TablebaseResult expected = tablebases.probe(game);
+        Assertions.assertEquals(TablebaseResult.Wdl.WIN, expected.wdl());
+        Assertions.assertEquals(expected.score(), result.score());
+        Assertions.assertTrue(result.isMate());
+        Assertions.assertEquals(0, result.nodes());
+    }
+
+    @Test
+    @DisplayName("Plays Won Ending To Mate")
+    public void playsOut() {
+        ChessGame game = createGame("""
+                | | | | |k| | | |
+                | | | | | | | | |
+                | | | | |K| | | |
+                | | | | |P| | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                """, ChessGame.TeamColor.WHITE);
+        int distance = tablebases.probe(game).distanceToMate();
+        Assertions.assertEquals(TablebaseResult.Wdl.WIN, tablebases.probe(game).wdl());
+        for (int ply = 0; ply < distance; ply++) {
+            ChessMove move = tablebases.bestMove(game);
+            Assertions.assertNotNull(move);
+            game.makeMoveUnchecked(chess.Move.fromChessMove(move));
+            Assertions.assertEquals(distance - ply - 1, tablebases.probe(game).distanceToMate());
+        }
+        Assertions.assertTrue(game.isInCheckmate(ChessGame.TeamColor.BLACK));
+    }
+}
@@ -0,0 +1,58 @@
+package engine;
+
+import chess.Move;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TranspositionTableTests {
+
+    @Test
+    @DisplayName("Round Trips An Entry")
+    public void roundTrip() {
+        TranspositionTable table = new TranspositionTable(1);
+        long key = 0x1234_5678_9ABC_DEF0L;
+        int move = Move.of(12, 28, null, Move.DOUBLE_PUSH);
+        table.store(key, move, -31990, 7, TranspositionTable.LOWER);
+
+        long entry = table.probe(key);
+        Assertions.assertTrue(Move.sameMove(move, TranspositionTable.move(entry)));
+        Assertions.assertEquals(-31990, TranspositionTable.score(entry));
+        Assertions.assertEquals(7, TranspositionTable.depth(entry));
+        Assertions.assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(entry));
+    }
+
+    @Test
+    @DisplayName("Misses Other Keys In The Same Slot")
+    public void keyVerification() {
+        TranspositionTable table = new TranspositionTable(1);
+        long key = 42L;
+        table.store(key, Move.of(1, 2), 10, 3, TranspositionTable.EXACT);
+        Assertions.assertEquals(0L, table.probe(key + table.capacity()));
+        Assertions.assertNotEquals(0L, table.probe(key));
+    }
+
+    @Test
+    @DisplayName("Keeps Deeper Entries From The Same Search")
+    public void replacement() {
+        TranspositionTable table = new TranspositionTable(1);
+        long key = 7L;
+        long other = key + table.capacity();
+        table.store(key, Move.of(1, 2), 10, 6, TranspositionTable.EXACT);
+        table.store(other, Move.of(3, 4), 20, 2, TranspositionTable.EXACT);
+        Assertions.assertNotEquals(0L, table.probe(key));
+
+        table.newSearch();
+        table.store(other, Move.of(3, 4), 20, 2, TranspositionTable.EXACT);
+        Assertions.assertEquals(0L, table.probe(key));
+        Assertions.assertEquals(20, TranspositionTable.score(table.probe(other)));
+    }
+
+    @Test
+    @DisplayName("Sizes By Megabytes")
+    public void sizing() {
+        Assertions.assertEquals(1L << 16, new TranspositionTable(1).capacity());
+        Assertions.assertEquals(1L << 18, new TranspositionTable(5).capacity());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+    }
+}